@@ -0,0 +1,68 @@
+package by.javaguru.nordcodestests.bench;
+
+import by.javaguru.nordcodestests.api.ApiClient;
+import by.javaguru.nordcodestests.api.AsyncApiClient;
+import by.javaguru.nordcodestests.api.Endpoints;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость отправки одного действия клиентами {@link ApiClient} и {@link AsyncApiClient}:
+ * формирование запроса, form-кодирование, отправка и чтение ответа.
+ * <p>
+ * Сервер — {@link StubEndpoint}, поэтому результат отражает накладные расходы
+ * клиента и локального loopback, а не тестируемого сервиса.
+ * Журнал {@code ExchangeLog} отключён ({@code -Dapi.log=off}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dapi.log=off")
+public class ApiClientBenchmark {
+
+    private static final String TOKEN = "0123456789ABCDEF0123456789ABCDEF";
+
+    private StubEndpoint endpoint;
+    private URI mainUri;
+
+    @Setup(Level.Trial)
+    public void startEndpoint() throws IOException {
+        endpoint = new StubEndpoint();
+        RestAssured.baseURI = endpoint.baseUri();
+        mainUri = URI.create(endpoint.baseUri() + Endpoints.MAIN);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopEndpoint() {
+        endpoint.close();
+    }
+
+    @Benchmark
+    public Response restAssuredSendRequest() {
+        return ApiClient.sendRequest(TOKEN, "ACTION");
+    }
+
+    @Benchmark
+    public HttpResponse<String> asyncClientSendRequest() {
+        return AsyncApiClient.sendRequest(mainUri, TOKEN, "ACTION").join();
+    }
+}
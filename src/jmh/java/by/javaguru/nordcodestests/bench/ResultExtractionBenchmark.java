@@ -0,0 +1,73 @@
+package by.javaguru.nordcodestests.bench;
+
+import by.javaguru.nordcodestests.api.ApiResult;
+import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость извлечения поля {@code result} из ответа сервиса —
+ * операции, которую выполняет каждый тест и каждая итерация нагрузки.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultExtractionBenchmark {
+
+    private static final String ERROR_BODY =
+            "{\"result\":\"ERROR\",\"message\":\"token: должно соответствовать \\\"^[0-9A-Z]{32}$\\\"\"}";
+
+    private static final byte[] ERROR_BYTES = ERROR_BODY.getBytes(StandardCharsets.UTF_8);
+
+    private Response response;
+
+    /**
+     * Получает настоящий {@link Response} REST Assured от {@link StubEndpoint};
+     * тело ответа кэшируется внутри {@link Response}.
+     */
+    @Setup(Level.Trial)
+    public void fetchResponse() throws IOException {
+        try (StubEndpoint endpoint = new StubEndpoint()) {
+            response = RestAssured.given().post(endpoint.baseUri() + "/endpoint");
+            response.asString();
+        }
+    }
+
+    @Benchmark
+    public String responseJsonPath() {
+        return response.jsonPath().getString("result");
+    }
+
+    @Benchmark
+    public String jsonPathFromString() {
+        return JsonPath.from(ERROR_BODY).getString("result");
+    }
+
+    @Benchmark
+    public String apiResultFromResponse() {
+        return ApiResult.of(response).result();
+    }
+
+    @Benchmark
+    public String apiResultFromBytes() {
+        return ApiResult.decode(ERROR_BYTES).result();
+    }
+}
@@ -0,0 +1,55 @@
+package by.javaguru.nordcodestests.bench;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Встроенный HTTP-сервер, отвечающий {@code {"result":"OK"}} на любой POST.
+ * <p>
+ * Бенчмарки измеряют накладные расходы клиента, поэтому сервер должен
+ * быть максимально дешёвым и не зависеть от тестируемого JAR.
+ */
+final class StubEndpoint implements AutoCloseable {
+
+    static final byte[] OK_BODY = "{\"result\":\"OK\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    /**
+     * {@link HttpServer#stop(int)} не останавливает переданный ему executor,
+     * поэтому пул закрывается отдельно в {@link #close()}.
+     */
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    StubEndpoint() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, OK_BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(OK_BODY);
+            }
+        });
+        server.start();
+    }
+
+    String baseUri() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
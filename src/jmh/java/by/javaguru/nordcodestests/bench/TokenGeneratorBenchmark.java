@@ -0,0 +1,60 @@
+package by.javaguru.nordcodestests.bench;
+
+import by.javaguru.nordcodestests.utils.TokenGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность {@link TokenGenerator} для каждой стратегии {@link TokenGenerator.Rng}
+ * в одном потоке, при конкуренции четырёх потоков и при пакетной генерации.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenGeneratorBenchmark {
+
+    private static final int BATCH = 100;
+
+    @Param({"SHARED", "PER_THREAD", "STRIPED"})
+    private TokenGenerator.Rng rng;
+
+    private TokenGenerator generator;
+
+    @Setup
+    public void createGenerator() {
+        generator = new TokenGenerator(rng);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateTokenContended() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public String[] generateTokens() {
+        return generator.next(BATCH);
+    }
+}
@@ -1,46 +1,74 @@
 package by.javaguru.nordcodestests.api;
 
+import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
 import static io.restassured.RestAssured.given;
 
+/**
+ * Клиент для отправки действий на тестируемый сервис.
+ * <p>
+ * Логирование запросов и ответов управляется {@link ExchangeLog}.
+ * Каждый запрос выполняется через {@link TimedHttpClient}, а его время
+ * записывается в {@link RequestTimings}.
+ */
 public final class ApiClient {
 
-    private static final String API_KEY = "qazWSXedc";
+    static final String API_KEY = "qazWSXedc";
+
+    private static final RestAssuredConfig TIMED_CONFIG = RestAssured.config()
+            .httpClient(RestAssured.config().getHttpClientConfig().httpClientFactory(TimedHttpClient::new));
 
     private ApiClient() {
         throw new UnsupportedOperationException("Utility class");
     }
 
     public static Response sendRequest(String token, String action) {
-        return
-                given()
-                        .log().all()
-                        .header("Content-Type", "application/x-www-form-urlencoded")
-                        .header("X-Api-Key", API_KEY)
-                        .formParam("token", token)
-                        .formParam("action", action)
-                        .when()
-                        .post(Endpoints.MAIN)
-                        .then()
-                        .log().all()
-                        .extract()
-                        .response();
+        return send(Endpoints.MAIN, token, action);
+    }
+
+    /**
+     * Отправляет действие на {@link Endpoints#MAIN} и разбирает ответ в {@link ApiResult}.
+     */
+    public static ApiResult sendAction(String token, String action) {
+        return ApiResult.of(sendRequest(token, action));
     }
 
     public static Response sendRequestWithMock(String token, String action, String mockEndpoint) {
-        return
+        return send(mockEndpoint, token, action);
+    }
+
+    private static Response send(String path, String token, String action) {
+        RequestSpecification request =
                 given()
-                        .log().all()
+                        .config(TIMED_CONFIG)
+                        .filter(RequestTimings.FILTER)
                         .header("Content-Type", "application/x-www-form-urlencoded")
                         .header("X-Api-Key", API_KEY)
                         .formParam("token", token)
-                        .formParam("action", action)
+                        .formParam("action", action);
+
+        switch (ExchangeLog.MODE) {
+            case ALL:
+                return request
+                        .log().all()
                         .when()
-                        .post(mockEndpoint)
+                        .post(path)
                         .then()
                         .log().all()
                         .extract()
                         .response();
+            case BUFFERED:
+                request.filter(ExchangeLog.FILTER);
+                break;
+            case OFF:
+                break;
+        }
+
+        return request
+                .when()
+                .post(path);
     }
-}
\ No newline at end of file
+}
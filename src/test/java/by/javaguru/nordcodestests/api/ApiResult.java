@@ -0,0 +1,94 @@
+package by.javaguru.nordcodestests.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Ответ {@code /endpoint}: поля {@code result} и {@code message}.
+ * <p>
+ * Поля читаются потоковым парсером jackson-core прямо из байт тела:
+ * дерево документа не строится, вложенные значения пропускаются,
+ * разбор останавливается, как только найдены оба поля.
+ * Тело, которое не является JSON-объектом (например, HTML-страница ошибки),
+ * даёт результат с {@code null} в обоих полях.
+ *
+ * @param result  {@code "OK"}, {@code "ERROR"} или {@code null}, если поля нет
+ * @param message сообщение об ошибке или {@code null}, если поля нет
+ */
+public record ApiResult(String result, String message) {
+
+    public static final ApiResult EMPTY = new ApiResult(null, null);
+
+    private static final JsonFactory JSON = JsonFactory.builder().build();
+
+    public boolean isOk() {
+        return "OK".equals(result);
+    }
+
+    /**
+     * Разбирает тело ответа REST Assured.
+     */
+    public static ApiResult of(Response response) {
+        return decode(response.asByteArray());
+    }
+
+    /**
+     * Разбирает тело ответа в UTF-8.
+     */
+    public static ApiResult decode(byte[] body) {
+        return decode(body, 0, body.length);
+    }
+
+    /**
+     * Разбирает тело ответа из фрагмента массива.
+     *
+     * @throws UncheckedIOException если JSON-объект оборван или повреждён
+     */
+    public static ApiResult decode(byte[] body, int offset, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        try (JsonParser parser = JSON.createParser(body, offset, length)) {
+            if (!startsObject(parser)) {
+                return EMPTY;
+            }
+            String result = null;
+            String message = null;
+            boolean hasResult = false;
+            boolean hasMessage = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!hasResult && "result".equals(field)) {
+                    result = value.isScalarValue() ? parser.getValueAsString() : null;
+                    hasResult = true;
+                } else if (!hasMessage && "message".equals(field)) {
+                    message = value.isScalarValue() ? parser.getValueAsString() : null;
+                    hasMessage = true;
+                } else {
+                    parser.skipChildren();
+                }
+                if (hasResult && hasMessage) {
+                    break;
+                }
+            }
+            return new ApiResult(result, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed response body", e);
+        }
+    }
+
+    private static boolean startsObject(JsonParser parser) {
+        try {
+            return parser.nextToken() == JsonToken.START_OBJECT;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package by.javaguru.nordcodestests.api;
+
+import by.javaguru.nordcodestests.base.TestEnvironment;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Неблокирующий вариант {@link ApiClient} на основе {@link HttpClient}.
+ * <p>
+ * Семантика {@link #sendRequest(String, String)} совпадает с {@link ApiClient#sendRequest(String, String)},
+ * но метод сразу возвращает {@link CompletableFuture}. Ввод-вывод выполняет
+ * селектор {@link HttpClient}, а продолжения — небольшой пул потоков,
+ * поэтому тысячи одновременных сессий не требуют тысяч потоков.
+ * <p>
+ * Запросы и ответы не логируются.
+ */
+public final class AsyncApiClient {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            daemonThreads());
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .executor(EXECUTOR)
+            .build();
+
+    private AsyncApiClient() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Асинхронно отправляет действие на {@link Endpoints#MAIN}.
+     *
+     * @param token  токен сессии
+     * @param action действие (LOGIN, ACTION, LOGOUT)
+     * @return ответ сервиса; завершается исключением при сетевой ошибке
+     */
+    public static CompletableFuture<HttpResponse<String>> sendRequest(String token, String action) {
+        return sendRequest(URI.create(TestEnvironment.appBaseUri() + Endpoints.MAIN), token, action);
+    }
+
+    /**
+     * Асинхронно отправляет действие на {@link Endpoints#MAIN} и разбирает ответ в {@link ApiResult}
+     * прямо из байт тела, без промежуточной строки.
+     */
+    public static CompletableFuture<ApiResult> sendAction(String token, String action) {
+        return HTTP_CLIENT.sendAsync(request(URI.create(TestEnvironment.appBaseUri() + Endpoints.MAIN), token, action),
+                        HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> ApiResult.decode(response.body()));
+    }
+
+    /**
+     * Асинхронно отправляет действие на указанный адрес.
+     */
+    public static CompletableFuture<HttpResponse<String>> sendRequest(URI endpoint, String token, String action) {
+        return HTTP_CLIENT.sendAsync(request(endpoint, token, action), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest request(URI endpoint, String token, String action) {
+        return HttpRequest.newBuilder(endpoint)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("X-Api-Key", ApiClient.API_KEY)
+                .POST(HttpRequest.BodyPublishers.ofString(formBody(token, action)))
+                .build();
+    }
+
+    private static String formBody(String token, String action) {
+        return "token=" + URLEncoder.encode(token, StandardCharsets.UTF_8)
+                + "&action=" + URLEncoder.encode(action, StandardCharsets.UTF_8);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "async-api-client-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
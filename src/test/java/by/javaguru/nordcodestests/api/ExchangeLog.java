@@ -0,0 +1,128 @@
+package by.javaguru.nordcodestests.api;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Журнал HTTP-обменов {@link ApiClient}.
+ * <p>
+ * Режим задаётся системным свойством {@code api.log}:
+ * <ul>
+ *     <li>{@code all} — каждый запрос и ответ печатаются в консоль целиком
+ *     ({@code .log().all()});</li>
+ *     <li>{@code buffered} (по умолчанию) — последние обмены хранятся в кольцевом
+ *     буфере и выводятся только при падении теста;</li>
+ *     <li>{@code off} — журнал отключён, фильтр не регистрируется вовсе
+ *     (режим для нагрузочных прогонов).</li>
+ * </ul>
+ * Размер буфера задаётся свойством {@code api.log.buffer} (по умолчанию 50).
+ * <p>
+ * В режиме {@code buffered} обмен сохраняется без форматирования:
+ * текст строится только при {@link #format()}.
+ */
+public final class ExchangeLog {
+
+    public enum Mode {
+        ALL,
+        BUFFERED,
+        OFF
+    }
+
+    public static final Mode MODE = Mode.valueOf(
+            System.getProperty("api.log", "buffered").toUpperCase(Locale.ROOT));
+
+    private static final int CAPACITY = Integer.getInteger("api.log.buffer", 50);
+
+    private static final Deque<Exchange> BUFFER = new ArrayDeque<>(CAPACITY);
+
+    /**
+     * Фильтр REST Assured, складывающий обмены в буфер.
+     */
+    static final Filter FILTER = ExchangeLog::capture;
+
+    private ExchangeLog() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Очищает буфер. Вызывается перед каждым тестом.
+     */
+    public static void clear() {
+        synchronized (BUFFER) {
+            BUFFER.clear();
+        }
+    }
+
+    /**
+     * @return {@code true}, если в буфере нет обменов
+     */
+    public static boolean isEmpty() {
+        synchronized (BUFFER) {
+            return BUFFER.isEmpty();
+        }
+    }
+
+    /**
+     * Форматирует содержимое буфера, от старых обменов к новым.
+     */
+    public static String format() {
+        List<Exchange> exchanges;
+        synchronized (BUFFER) {
+            exchanges = new ArrayList<>(BUFFER);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Exchange exchange : exchanges) {
+            exchange.appendTo(sb);
+        }
+        return sb.toString();
+    }
+
+    private static Response capture(FilterableRequestSpecification request,
+                                    FilterableResponseSpecification responseSpec,
+                                    FilterContext ctx) {
+        Instant sentAt = Instant.now();
+        Response response = ctx.next(request, responseSpec);
+
+        Exchange exchange = new Exchange(sentAt, request, response);
+        synchronized (BUFFER) {
+            if (BUFFER.size() == CAPACITY) {
+                BUFFER.removeFirst();
+            }
+            BUFFER.addLast(exchange);
+        }
+        return response;
+    }
+
+    /**
+     * Один обмен запрос-ответ в том виде, в каком его вернул REST Assured.
+     */
+    private record Exchange(Instant sentAt, FilterableRequestSpecification request, Response response) {
+
+        void appendTo(StringBuilder sb) {
+            sb.append(sentAt).append(' ')
+                    .append(request.getMethod()).append(' ').append(request.getURI()).append('\n');
+            for (Header header : request.getHeaders()) {
+                sb.append("  > ").append(header).append('\n');
+            }
+            for (Map.Entry<String, String> param : request.getFormParams().entrySet()) {
+                sb.append("  > ").append(param.getKey()).append('=').append(param.getValue()).append('\n');
+            }
+            sb.append("  < ").append(response.getStatusLine())
+                    .append(" (").append(response.getTime()).append(" ms)").append('\n');
+            sb.append("  < ").append(response.asString()).append("\n\n");
+        }
+    }
+}
@@ -0,0 +1,696 @@
+package by.javaguru.nordcodestests.api;
+
+import by.javaguru.nordcodestests.base.TestEnvironment;
+import by.javaguru.nordcodestests.utils.TokenGenerator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Драйвер запросов {@code POST /endpoint} на «сыром» NIO для поиска предела
+ * производительности сервиса.
+ * <p>
+ * Весь ввод-вывод выполняет один поток-селектор над фиксированным набором
+ * keep-alive соединений. Запрос для каждого действия сериализован заранее
+ * целиком — строка запроса, заголовки и тело формы; на вызов шаблон копируется
+ * в прямой {@link ByteBuffer} соединения и в него вписывается 32-символьный токен.
+ * Токен другого формата сериализуется обычным путём.
+ * <p>
+ * Каждое соединение держит до {@code pipelineDepth} запросов в полёте
+ * (HTTP/1.1 pipelining): ответы приходят в порядке запросов. Если все
+ * соединения заняты, запрос ждёт в очереди. Из ответа разбираются только
+ * строка статуса и поле {@code result} ({@link ApiResult}); поддерживаются
+ * {@code Content-Length} и {@code Transfer-Encoding: chunked}.
+ * <p>
+ * Future завершаются в потоке-селекторе, поэтому продолжения должны быть
+ * короткими. Соединения открываются неблокирующим {@code connect}, так что
+ * переподключение одного соединения не задерживает остальные. Если сервис
+ * отвечает {@code Connection: close} (например, Tomcat после
+ * {@code maxKeepAliveRequests} ответов), запросы, отправленные следом по тому же
+ * соединению, сервисом не обработаны: они возвращаются в начало очереди и уходят
+ * по новому соединению. При обрыве соединения или ошибке разбора ответа его
+ * запросы в полёте завершаются исключением, а соединение открывается заново
+ * при следующем запросе.
+ * <p>
+ * Запросы не логируются и не попадают в {@link RequestTimings}.
+ */
+public class NioApiDriver implements AutoCloseable {
+
+    private static final int CONNECTIONS = Integer.getInteger("api.nio.connections", 64);
+    private static final int PIPELINE_DEPTH = Integer.getInteger("api.nio.pipeline", 1);
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_RESPONSE_SIZE = 1024 * 1024;
+
+    private static final int TOKEN_LENGTH = TokenGenerator.TOKEN_LENGTH;
+
+    private static final byte[] HTTP_PREFIX = "HTTP/1.".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONTENT_LENGTH = "content-length".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRANSFER_ENCODING = "transfer-encoding".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONNECTION = "connection".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHUNKED = "chunked".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLOSE = "close".getBytes(StandardCharsets.US_ASCII);
+
+    private static NioApiDriver shared;
+
+    private final InetSocketAddress address;
+    private final String path;
+    private final int pipelineDepth;
+    private final Connection[] connections;
+
+    /**
+     * Шаблоны запроса по действию; используются только потоком-селектором.
+     */
+    private final Map<String, Template> templates = new HashMap<>();
+
+    private final Queue<Exchange> submitted = new ConcurrentLinkedQueue<>();
+    private final Deque<Exchange> waiting = new ArrayDeque<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+    private Selector selector;
+    private Thread loop;
+    private volatile boolean running;
+    private int nextConnection;
+
+    /**
+     * Ответ сервиса.
+     *
+     * @param statusCode HTTP-статус
+     * @param result     значение поля {@code result} или {@code null}, если поля нет
+     */
+    public record Reply(int statusCode, String result) {
+    }
+
+    /**
+     * @param address       адрес сервиса
+     * @param path          путь запроса, например {@link Endpoints#MAIN}
+     * @param connections   число соединений
+     * @param pipelineDepth сколько запросов может находиться в полёте в одном соединении
+     */
+    public NioApiDriver(InetSocketAddress address, String path, int connections, int pipelineDepth) {
+        if (connections < 1 || pipelineDepth < 1) {
+            throw new IllegalArgumentException(
+                    "connections and pipelineDepth must be positive: " + connections + ", " + pipelineDepth);
+        }
+        this.address = address;
+        this.path = path;
+        this.pipelineDepth = pipelineDepth;
+        this.connections = new Connection[connections];
+        for (int i = 0; i < connections; i++) {
+            this.connections[i] = new Connection();
+        }
+    }
+
+    /**
+     * Общий драйвер для {@link Endpoints#MAIN} тестируемого приложения.
+     * Запускается при первом вызове и работает до конца JVM; число соединений
+     * и глубина конвейера задаются свойствами {@code api.nio.connections} (64)
+     * и {@code api.nio.pipeline} (1).
+     */
+    public static synchronized NioApiDriver shared() {
+        if (shared == null) {
+            try {
+                shared = new NioApiDriver(
+                        new InetSocketAddress(TestEnvironment.HOST, TestEnvironment.appPort()),
+                        Endpoints.MAIN, CONNECTIONS, PIPELINE_DEPTH).start();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot start NIO driver", e);
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Открывает селектор и запускает его поток. Соединения открываются
+     * по мере надобности.
+     *
+     * @return этот же драйвер
+     */
+    public synchronized NioApiDriver start() throws IOException {
+        if (running) {
+            return this;
+        }
+        selector = Selector.open();
+        running = true;
+        loop = new Thread(this::run, "nio-api-driver-" + address.getPort());
+        loop.setDaemon(true);
+        loop.start();
+        return this;
+    }
+
+    /**
+     * Ставит действие в очередь на отправку.
+     *
+     * @param token  токен сессии
+     * @param action действие (LOGIN, ACTION, LOGOUT)
+     * @return ответ; завершается исключением при сетевой ошибке или остановке драйвера
+     */
+    public CompletableFuture<Reply> send(String token, String action) {
+        Exchange exchange = new Exchange(token, action);
+        if (!running) {
+            exchange.future.completeExceptionally(new IllegalStateException("NIO driver is not running"));
+            return exchange.future;
+        }
+        submitted.add(exchange);
+        if (!running) {
+            // Поток-селектор остановился между проверкой и добавлением и очередь уже не разберёт
+            if (submitted.remove(exchange)) {
+                exchange.future.completeExceptionally(new IllegalStateException("NIO driver is not running"));
+            }
+            return exchange.future;
+        }
+        if (Thread.currentThread() != loop && wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+        return exchange.future;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                wakeupPending.set(false);
+                dispatch();
+                selector.select();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isConnectable()) {
+                            connection.finishConnect();
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        // Например, некорректное тело ответа: закрывается только это соединение
+                        connection.fail(e);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("NIO driver stopped: " + e);
+        } finally {
+            running = false;
+            IllegalStateException stopped = new IllegalStateException("NIO driver stopped");
+            for (Connection connection : connections) {
+                connection.fail(stopped);
+            }
+            Exchange exchange;
+            while ((exchange = submitted.poll()) != null || (exchange = waiting.poll()) != null) {
+                exchange.future.completeExceptionally(stopped);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Раздаёт ожидающие запросы соединениям со свободным местом в конвейере.
+     */
+    private void dispatch() {
+        Exchange exchange;
+        while ((exchange = submitted.poll()) != null) {
+            waiting.add(exchange);
+        }
+        while ((exchange = waiting.peekFirst()) != null) {
+            Connection connection = freeConnection();
+            if (connection == null) {
+                break;
+            }
+            waiting.removeFirst();
+            try {
+                connection.submit(exchange);
+            } catch (IOException | RuntimeException e) {
+                exchange.future.completeExceptionally(e);
+                connection.fail(e);
+            }
+        }
+        for (Connection connection : connections) {
+            if (connection.dirty && !connection.connecting) {
+                try {
+                    connection.flush();
+                } catch (IOException | RuntimeException e) {
+                    connection.fail(e);
+                }
+            }
+        }
+    }
+
+    private Connection freeConnection() {
+        for (int i = 0; i < connections.length; i++) {
+            Connection connection = connections[nextConnection];
+            nextConnection = (nextConnection + 1) % connections.length;
+            if (connection.inFlight.size() < pipelineDepth) {
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    private Template template(String action) {
+        return templates.computeIfAbsent(action, this::newTemplate);
+    }
+
+    private Template newTemplate(String action) {
+        byte[] bytes = serialize("0".repeat(TOKEN_LENGTH), action);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return new Template(buffer.asReadOnlyBuffer(), bytes.length - TOKEN_LENGTH - "&action=".length()
+                - URLEncoder.encode(action, StandardCharsets.UTF_8).length());
+    }
+
+    private byte[] serialize(String token, String action) {
+        String body = "token=" + URLEncoder.encode(token, StandardCharsets.UTF_8)
+                + "&action=" + URLEncoder.encode(action, StandardCharsets.UTF_8);
+        String request = "POST " + path + " HTTP/1.1\r\n"
+                + "Host: " + address.getHostString() + ":" + address.getPort() + "\r\n"
+                + "Content-Type: application/x-www-form-urlencoded\r\n"
+                + "X-Api-Key: " + ApiClient.API_KEY + "\r\n"
+                + "Content-Length: " + body.length() + "\r\n"
+                + "\r\n"
+                + body;
+        return request.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Сериализованный запрос действия; токен начинается с {@code tokenOffset}.
+     */
+    private record Template(ByteBuffer bytes, int tokenOffset) {
+    }
+
+    /**
+     * Запрос, ожидающий ответа.
+     */
+    private static final class Exchange {
+
+        final String token;
+        final String action;
+        final CompletableFuture<Reply> future = new CompletableFuture<>();
+
+        Exchange(String token, String action) {
+            this.token = token;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Одно keep-alive соединение и его конвейер.
+     */
+    private final class Connection {
+
+        private final Deque<Exchange> inFlight = new ArrayDeque<>();
+        private ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+        private byte[] chunks = new byte[256];
+
+        private SocketChannel channel;
+        private SelectionKey key;
+        private boolean dirty;
+
+        /**
+         * Соединение устанавливается: запросы копятся в {@code out}
+         * и отправляются после {@link #finishConnect()}.
+         */
+        private boolean connecting;
+
+        /**
+         * Значения последнего разобранного ответа.
+         */
+        private int status;
+        private boolean closeAfterResponse;
+        private String result;
+
+        void submit(Exchange exchange) throws IOException {
+            if (channel == null) {
+                open();
+            }
+            if (PooledApiClient.isTemplateToken(exchange.token)) {
+                Template template = template(exchange.action);
+                ensureOutCapacity(template.bytes.capacity());
+                int tokenAt = out.position() + template.tokenOffset;
+                out.put(template.bytes.duplicate());
+                for (int i = 0; i < TOKEN_LENGTH; i++) {
+                    out.put(tokenAt + i, (byte) exchange.token.charAt(i));
+                }
+            } else {
+                byte[] bytes = serialize(exchange.token, exchange.action);
+                ensureOutCapacity(bytes.length);
+                out.put(bytes);
+            }
+            inFlight.add(exchange);
+            dirty = true;
+        }
+
+        void finishConnect() throws IOException {
+            if (channel.finishConnect()) {
+                connecting = false;
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            out.flip();
+            channel.write(out);
+            boolean pending = out.hasRemaining();
+            out.compact();
+            dirty = false;
+            key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        void read() throws IOException {
+            if (!in.hasRemaining()) {
+                if (in.capacity() >= MAX_RESPONSE_SIZE) {
+                    throw new IOException("Response too large");
+                }
+                ByteBuffer larger = ByteBuffer.allocate(in.capacity() * 2);
+                in.flip();
+                larger.put(in);
+                in = larger;
+            }
+
+            if (channel.read(in) < 0) {
+                throw new IOException("Connection closed by server with " + inFlight.size() + " requests in flight");
+            }
+
+            byte[] data = in.array();
+            int limit = in.position();
+            int start = 0;
+            int end;
+            while (!inFlight.isEmpty() && (end = parseResponse(data, start, limit)) >= 0) {
+                start = end;
+                inFlight.removeFirst().future.complete(new Reply(status, result));
+                if (closeAfterResponse) {
+                    requeueAndClose();
+                    return;
+                }
+            }
+            if (inFlight.isEmpty() && start < limit) {
+                throw new IOException("Unexpected response data");
+            }
+
+            in.flip();
+            in.position(start);
+            in.compact();
+        }
+
+        /**
+         * Закрывает соединение и завершает запросы в полёте исключением.
+         */
+        void fail(Throwable cause) {
+            close();
+            Exchange exchange;
+            while ((exchange = inFlight.poll()) != null) {
+                exchange.future.completeExceptionally(cause);
+            }
+        }
+
+        /**
+         * Сервис ответил {@code Connection: close}: запросы, отправленные после
+         * этого ответа, он не обработал. Они возвращаются в начало очереди
+         * в прежнем порядке, а соединение закрывается.
+         */
+        private void requeueAndClose() {
+            close();
+            Exchange exchange;
+            while ((exchange = inFlight.pollLast()) != null) {
+                waiting.addFirst(exchange);
+            }
+        }
+
+        private void close() {
+            if (key != null) {
+                key.cancel();
+            }
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            channel = null;
+            key = null;
+            dirty = false;
+            connecting = false;
+            out.clear();
+            in.clear();
+        }
+
+        private void open() throws IOException {
+            channel = SocketChannel.open();
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                connecting = !channel.connect(address);
+                key = channel.register(selector, connecting ? SelectionKey.OP_CONNECT : SelectionKey.OP_READ, this);
+            } catch (IOException e) {
+                channel.close();
+                channel = null;
+                connecting = false;
+                throw e;
+            }
+        }
+
+        private void ensureOutCapacity(int length) {
+            if (out.remaining() >= length) {
+                return;
+            }
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(out.capacity() * 2, out.position() + length));
+            out.flip();
+            larger.put(out);
+            out = larger;
+        }
+
+        /**
+         * Разбирает один ответ, начинающийся с {@code from}.
+         *
+         * @return индекс за концом ответа или {@code -1}, если ответ получен не полностью
+         */
+        private int parseResponse(byte[] data, int from, int limit) throws IOException {
+            int headerEnd = indexOfHeaderEnd(data, from, limit);
+            if (headerEnd < 0) {
+                return -1;
+            }
+            if (headerEnd - from < 12 || !regionEquals(data, from, HTTP_PREFIX)) {
+                throw new IOException("Malformed status line");
+            }
+            status = (data[from + 9] - '0') * 100 + (data[from + 10] - '0') * 10 + (data[from + 11] - '0');
+
+            int contentLength = -1;
+            boolean chunked = false;
+            closeAfterResponse = data[from + 7] == '0';
+
+            int line = indexOfLineEnd(data, from, headerEnd) + 2;
+            while (line < headerEnd) {
+                int lineEnd = indexOfLineEnd(data, line, headerEnd);
+                int colon = indexOf(data, line, lineEnd, (byte) ':');
+                if (colon > 0) {
+                    int value = skipSpaces(data, colon + 1, lineEnd);
+                    if (nameEquals(data, line, colon, CONTENT_LENGTH)) {
+                        contentLength = parseDecimal(data, value, lineEnd);
+                    } else if (nameEquals(data, line, colon, TRANSFER_ENCODING)) {
+                        chunked = containsIgnoreCase(data, value, lineEnd, CHUNKED);
+                    } else if (nameEquals(data, line, colon, CONNECTION)) {
+                        closeAfterResponse = containsIgnoreCase(data, value, lineEnd, CLOSE);
+                    }
+                }
+                line = lineEnd + 2;
+            }
+
+            int bodyStart = headerEnd + 4;
+            if (chunked) {
+                return parseChunked(data, bodyStart, limit);
+            }
+            if (contentLength < 0) {
+                if (status == 204 || status == 304) {
+                    contentLength = 0;
+                } else {
+                    throw new IOException("Response without Content-Length is not supported");
+                }
+            }
+            if (bodyStart + contentLength > limit) {
+                return -1;
+            }
+            result = ApiResult.decode(data, bodyStart, contentLength).result();
+            return bodyStart + contentLength;
+        }
+
+        private int parseChunked(byte[] data, int pos, int limit) throws IOException {
+            int length = 0;
+            while (true) {
+                int lineEnd = indexOfLineEnd(data, pos, limit);
+                if (lineEnd >= limit) {
+                    return -1;
+                }
+                int size = parseHex(data, pos, lineEnd);
+                pos = lineEnd + 2;
+                if (size == 0) {
+                    int end;
+                    if (pos + 2 <= limit && data[pos] == '\r' && data[pos + 1] == '\n') {
+                        end = pos + 2;
+                    } else {
+                        int trailersEnd = indexOfHeaderEnd(data, pos, limit);
+                        if (trailersEnd < 0) {
+                            return -1;
+                        }
+                        end = trailersEnd + 4;
+                    }
+                    result = ApiResult.decode(chunks, 0, length).result();
+                    return end;
+                }
+                if (pos + size + 2 > limit) {
+                    return -1;
+                }
+                if (length + size > chunks.length) {
+                    byte[] larger = new byte[Math.max(chunks.length * 2, length + size)];
+                    System.arraycopy(chunks, 0, larger, 0, length);
+                    chunks = larger;
+                }
+                System.arraycopy(data, pos, chunks, length, size);
+                length += size;
+                pos += size + 2;
+            }
+        }
+    }
+
+    private static int indexOfHeaderEnd(byte[] data, int from, int limit) {
+        for (int i = from; i + 3 < limit; i++) {
+            if (data[i] == '\r' && data[i + 1] == '\n' && data[i + 2] == '\r' && data[i + 3] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return индекс {@code \r} перед {@code \n} или {@code limit}, если конец строки не найден
+     */
+    private static int indexOfLineEnd(byte[] data, int from, int limit) {
+        for (int i = from; i + 1 < limit; i++) {
+            if (data[i] == '\r' && data[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    private static int indexOf(byte[] data, int from, int limit, byte value) {
+        for (int i = from; i < limit; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipSpaces(byte[] data, int from, int limit) {
+        while (from < limit && (data[from] == ' ' || data[from] == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean regionEquals(byte[] data, int from, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (data[from + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param lowerCase ожидаемое имя заголовка в нижнем регистре
+     */
+    private static boolean nameEquals(byte[] data, int from, int to, byte[] lowerCase) {
+        if (to - from != lowerCase.length) {
+            return false;
+        }
+        for (int i = 0; i < lowerCase.length; i++) {
+            if ((data[from + i] | 0x20) != lowerCase[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(byte[] data, int from, int to, byte[] lowerCase) {
+        for (int i = from; i + lowerCase.length <= to; i++) {
+            if (nameEquals(data, i, i + lowerCase.length, lowerCase)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int parseDecimal(byte[] data, int from, int to) throws IOException {
+        int value = 0;
+        int i = from;
+        for (; i < to && data[i] >= '0' && data[i] <= '9'; i++) {
+            value = value * 10 + (data[i] - '0');
+            if (value > MAX_RESPONSE_SIZE) {
+                throw new IOException("Content-Length too large");
+            }
+        }
+        if (i == from) {
+            throw new IOException("Malformed Content-Length");
+        }
+        return value;
+    }
+
+    private static int parseHex(byte[] data, int from, int to) throws IOException {
+        int value = 0;
+        int i = from;
+        for (; i < to; i++) {
+            int digit = Character.digit(data[i], 16);
+            if (digit < 0) {
+                break;
+            }
+            value = value * 16 + digit;
+            if (value > MAX_RESPONSE_SIZE) {
+                throw new IOException("Chunk too large");
+            }
+        }
+        if (i == from) {
+            throw new IOException("Malformed chunk size");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,273 @@
+package by.javaguru.nordcodestests.api;
+
+import by.javaguru.nordcodestests.base.TestEnvironment;
+import by.javaguru.nordcodestests.utils.TokenGenerator;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Клиент {@code /endpoint} для нагрузочных сценариев: общий ограниченный пул
+ * keep-alive соединений и заранее собранный шаблон запроса.
+ * <p>
+ * В отличие от {@link ApiClient}, не строит спецификацию REST Assured на каждый
+ * вызов. Заголовки и URI собраны один раз, тело формы для каждого действия —
+ * готовый массив байт {@code token=<32 символа>&action=<действие>}: на вызов
+ * остаётся скопировать шаблон и вписать токен. Токен, который не является
+ * 32 символами {@code [0-9A-Za-z]}, кодируется обычным путём.
+ * <p>
+ * Пул ограничен {@code poolSize} соединениями; если все заняты, вызов ждёт
+ * освобождения. Соединения переиспользуются, пока сервис их не закрывает.
+ * {@link #stats()} показывает долю переиспользованных соединений и число
+ * открытых и закрытых сокетов.
+ * <p>
+ * Нагрузочные сценарии используют общий клиент {@link #shared()} с пулом
+ * из {@code api.pool.size} соединений (по умолчанию 64).
+ * <p>
+ * Запросы не логируются и не попадают в {@link RequestTimings}.
+ */
+public final class PooledApiClient implements AutoCloseable {
+
+    private static final int POOL_SIZE = Integer.getInteger("api.pool.size", 64);
+
+    private static final int CONNECT_TIMEOUT_MS = 5_000;
+    private static final int SOCKET_TIMEOUT_MS = 30_000;
+
+    private static final int TOKEN_LENGTH = TokenGenerator.TOKEN_LENGTH;
+
+    private static final byte[] TOKEN_PREFIX = "token=".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Header[] HEADERS = {
+            new BasicHeader("Content-Type", "application/x-www-form-urlencoded"),
+            new BasicHeader("X-Api-Key", ApiClient.API_KEY)
+    };
+
+    /**
+     * Шаблоны тела по действию; место токена заполнено нулями.
+     */
+    private static final Map<String, byte[]> TEMPLATES = new ConcurrentHashMap<>();
+
+    private static PooledApiClient shared;
+
+    private final URI endpoint;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder closed = new LongAdder();
+    private final PoolingHttpClientConnectionManager pool;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * @param endpoint полный URI, на который отправляются действия
+     * @param poolSize максимальное число соединений
+     */
+    public PooledApiClient(URI endpoint, int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("poolSize must be positive: " + poolSize);
+        }
+        this.endpoint = endpoint;
+        this.pool = newPool(poolSize);
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(CONNECT_TIMEOUT_MS)
+                        .setSocketTimeout(SOCKET_TIMEOUT_MS)
+                        .setConnectionRequestTimeout(SOCKET_TIMEOUT_MS)
+                        .build())
+                .disableAutomaticRetries()
+                .disableRedirectHandling()
+                .disableCookieManagement()
+                .disableAuthCaching()
+                .disableContentCompression()
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Общий клиент {@link Endpoints#MAIN} тестируемого приложения; создаётся при первом вызове.
+     */
+    public static synchronized PooledApiClient shared() {
+        if (shared == null) {
+            shared = new PooledApiClient(URI.create(TestEnvironment.appBaseUri() + Endpoints.MAIN), POOL_SIZE);
+        }
+        return shared;
+    }
+
+    /**
+     * Ответ сервиса.
+     *
+     * @param statusCode HTTP-статус
+     * @param body       тело ответа
+     */
+    public record Reply(int statusCode, byte[] body) {
+
+        public String bodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @return поля {@code result} и {@code message}, прочитанные потоковым парсером
+         */
+        public ApiResult result() {
+            return ApiResult.decode(body);
+        }
+    }
+
+    /**
+     * Счётчики соединений с момента последнего {@link #resetStats()}.
+     *
+     * @param requests выполнено запросов
+     * @param opened   открыто сокетов
+     * @param closed   закрыто сокетов
+     * @param pooled   соединений в пуле сейчас (занятых и свободных)
+     */
+    public record ConnectionStats(long requests, long opened, long closed, int pooled) {
+
+        /**
+         * @return доля запросов, выполненных на уже открытом соединении
+         */
+        public double reuseRatio() {
+            return requests == 0 ? 0 : Math.max(0, 1 - (double) opened / requests);
+        }
+
+        public String format() {
+            return String.format(Locale.ROOT,
+                    "Requests: %d, sockets opened: %d, closed: %d, in pool: %d, reuse ratio: %.4f",
+                    requests, opened, closed, pooled, reuseRatio());
+        }
+    }
+
+    /**
+     * Отправляет действие на URI клиента.
+     *
+     * @param token  токен сессии
+     * @param action действие (LOGIN, ACTION, LOGOUT)
+     * @throws IOException при сетевой ошибке
+     */
+    public Reply sendRequest(String token, String action) throws IOException {
+        HttpPost post = new HttpPost(endpoint);
+        post.setHeaders(HEADERS);
+        post.setEntity(new ByteArrayEntity(formBody(token, action)));
+
+        requests.increment();
+        try (CloseableHttpResponse response = httpClient.execute(post)) {
+            HttpEntity entity = response.getEntity();
+            byte[] body = entity == null ? new byte[0] : EntityUtils.toByteArray(entity);
+            return new Reply(response.getStatusLine().getStatusCode(), body);
+        }
+    }
+
+    public ConnectionStats stats() {
+        PoolStats total = pool.getTotalStats();
+        return new ConnectionStats(requests.sum(), opened.sum(), closed.sum(), total.getLeased() + total.getAvailable());
+    }
+
+    public void resetStats() {
+        requests.reset();
+        opened.reset();
+        closed.reset();
+    }
+
+    /**
+     * Закрывает все соединения пула.
+     */
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    /**
+     * Собирает тело формы: копия шаблона действия с вписанным токеном.
+     * Результат совпадает с {@code token=<URL-кодированный токен>&action=<URL-кодированное действие>}.
+     */
+    public static byte[] formBody(String token, String action) {
+        if (!isTemplateToken(token)) {
+            return ("token=" + URLEncoder.encode(token, StandardCharsets.UTF_8)
+                    + "&action=" + URLEncoder.encode(action, StandardCharsets.UTF_8))
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+        byte[] body = TEMPLATES.computeIfAbsent(action, PooledApiClient::template).clone();
+        for (int i = 0; i < token.length(); i++) {
+            body[TOKEN_PREFIX.length + i] = (byte) token.charAt(i);
+        }
+        return body;
+    }
+
+    private static byte[] template(String action) {
+        return ("token=" + "0".repeat(TOKEN_LENGTH) + "&action=" + URLEncoder.encode(action, StandardCharsets.UTF_8))
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return {@code true}, если токен вписывается в шаблон без кодирования:
+     * ровно {@link TokenGenerator#TOKEN_LENGTH} символов {@code [0-9A-Za-z]}
+     */
+    public static boolean isTemplateToken(String token) {
+        if (token.length() != TOKEN_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < TOKEN_LENGTH; i++) {
+            char c = token.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private PoolingHttpClientConnectionManager newPool(int poolSize) {
+        Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new CountingSocketFactory())
+                .build();
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(registry);
+        manager.setMaxTotal(poolSize);
+        manager.setDefaultMaxPerRoute(poolSize);
+        return manager;
+    }
+
+    /**
+     * Фабрика сокетов, считающая открытые и закрытые соединения клиента.
+     */
+    private final class CountingSocketFactory extends PlainConnectionSocketFactory {
+
+        @Override
+        public Socket createSocket(HttpContext context) {
+            opened.increment();
+            AtomicBoolean socketClosed = new AtomicBoolean();
+            return new Socket() {
+                @Override
+                public synchronized void close() throws IOException {
+                    if (socketClosed.compareAndSet(false, true)) {
+                        closed.increment();
+                    }
+                    super.close();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package by.javaguru.nordcodestests.api;
+
+import by.javaguru.nordcodestests.load.LatencyStats;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Клиентские замеры времени запросов {@link ApiClient}.
+ * <p>
+ * Для каждого запроса фиксируются три фазы:
+ * <ul>
+ *     <li>{@link Phase#CONNECT} — установка TCP-соединения;</li>
+ *     <li>{@link Phase#TTFB} — от начала отправки запроса до получения заголовков ответа;</li>
+ *     <li>{@link Phase#TOTAL} — полный вызов REST Assured, включая чтение тела.</li>
+ * </ul>
+ * Замеры группируются по действию ({@code LOGIN}, {@code ACTION}, {@code LOGOUT})
+ * и копятся в двух наборах: для текущего теста — число, среднее и максимум
+ * (сбрасываются перед каждым тестом), для всего прогона — перцентили
+ * в HdrHistogram. Публикацией в Allure занимается
+ * {@code by.javaguru.nordcodestests.base.RequestTimingExtension}.
+ * <p>
+ * Кроме того, для текущего теста сохраняются сами обмены ({@link Exchange}:
+ * токен, действие и моменты начала и конца) — по ним запросы сопоставляются
+ * с журналом внешних сервисов. Хранится не больше {@value #MAX_TEST_EXCHANGES}
+ * обменов на тест.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        CONNECT,
+        TTFB,
+        TOTAL
+    }
+
+    /**
+     * Один запрос к {@code /endpoint}.
+     *
+     * @param token       токен из тела запроса
+     * @param action      действие из тела запроса
+     * @param startedAt   момент начала вызова
+     * @param finishedAt  момент получения ответа
+     * @param totalNanos  полное время вызова
+     */
+    public record Exchange(String token, String action, Instant startedAt, Instant finishedAt, long totalNanos) {
+    }
+
+    static final int MAX_TEST_EXCHANGES = 10_000;
+
+    /**
+     * Фильтр REST Assured, измеряющий полный вызов и записывающий все фазы.
+     */
+    static final Filter FILTER = RequestTimings::measure;
+
+    private static final ThreadLocal<Probe> CURRENT = new ThreadLocal<>();
+
+    private static volatile Map<String, TestTimings> test = new ConcurrentSkipListMap<>();
+
+    private static volatile List<Exchange> testExchanges = new ArrayList<>();
+
+    private static final Map<String, SuiteTimings> SUITE = new ConcurrentSkipListMap<>();
+
+    private RequestTimings() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Начинает новый набор замеров текущего теста.
+     */
+    public static void resetTest() {
+        test = new ConcurrentSkipListMap<>();
+        testExchanges = new ArrayList<>();
+    }
+
+    /**
+     * @return обмены текущего теста в порядке завершения
+     */
+    public static List<Exchange> testExchanges() {
+        List<Exchange> exchanges = testExchanges;
+        synchronized (exchanges) {
+            return List.copyOf(exchanges);
+        }
+    }
+
+    /**
+     * @return {@code true}, если текущий тест не отправил ни одного запроса через {@link ApiClient}
+     */
+    public static boolean isTestEmpty() {
+        return test.isEmpty();
+    }
+
+    /**
+     * @return таблица замеров текущего теста
+     */
+    public static String formatTest() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-14s %-8s %7s %9s %9s%n",
+                "action", "phase", "count", "mean ms", "max ms"));
+        test.forEach((action, timings) -> timings.appendRows(sb, action));
+        return sb.toString();
+    }
+
+    /**
+     * @return таблица замеров всего прогона
+     */
+    public static String formatSuite() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-14s %-8s %7s %9s %9s %9s %9s%n",
+                "action", "phase", "count", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        SUITE.forEach((action, timings) -> timings.snapshot().forEach((phase, stats) ->
+                sb.append(String.format(Locale.ROOT, "%-14s %-8s %7d %9.2f %9.2f %9.2f %9.2f%n",
+                        action, phase, stats.count(), stats.p50(), stats.p95(), stats.p99(), stats.max()))));
+        return sb.toString();
+    }
+
+    /**
+     * @return {@code true}, если за прогон не было ни одного запроса
+     */
+    public static boolean isSuiteEmpty() {
+        return SUITE.isEmpty();
+    }
+
+    /**
+     * @return снимки статистики прогона по действиям и фазам
+     */
+    public static Map<String, Map<Phase, LatencyStats.Snapshot>> suiteSnapshot() {
+        Map<String, Map<Phase, LatencyStats.Snapshot>> snapshot = new ConcurrentSkipListMap<>();
+        SUITE.forEach((action, timings) -> snapshot.put(action, timings.snapshot()));
+        return snapshot;
+    }
+
+    static void connected(long nanos) {
+        Probe probe = CURRENT.get();
+        if (probe != null) {
+            probe.connectNanos += nanos;
+        }
+    }
+
+    static void sending() {
+        Probe probe = CURRENT.get();
+        if (probe != null) {
+            probe.sendStartedAt = System.nanoTime();
+        }
+    }
+
+    static void firstByte() {
+        Probe probe = CURRENT.get();
+        if (probe != null && probe.sendStartedAt != 0) {
+            probe.ttfbNanos = System.nanoTime() - probe.sendStartedAt;
+        }
+    }
+
+    private static Response measure(FilterableRequestSpecification request,
+                                    FilterableResponseSpecification response,
+                                    FilterContext context) {
+        Probe probe = new Probe();
+        CURRENT.set(probe);
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        try {
+            Response result = context.next(request, response);
+            probe.totalNanos = System.nanoTime() - start;
+            String action = actionOf(request);
+            record(action, probe);
+            remember(new Exchange(String.valueOf(request.getFormParams().get("token")), action,
+                    startedAt, Instant.now(), probe.totalNanos));
+            return result;
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private static void record(String action, Probe probe) {
+        test.computeIfAbsent(action, key -> new TestTimings()).record(probe);
+        SUITE.computeIfAbsent(action, key -> new SuiteTimings()).record(probe);
+    }
+
+    private static void remember(Exchange exchange) {
+        List<Exchange> exchanges = testExchanges;
+        synchronized (exchanges) {
+            if (exchanges.size() < MAX_TEST_EXCHANGES) {
+                exchanges.add(exchange);
+            }
+        }
+    }
+
+    private static String actionOf(FilterableRequestSpecification request) {
+        Object action = request.getFormParams().get("action");
+        return action == null || action.toString().isEmpty() ? "(none)" : action.toString();
+    }
+
+    /**
+     * Замеры одного запроса, накапливаемые в потоке, который его выполняет.
+     */
+    private static final class Probe {
+        long connectNanos;
+        long sendStartedAt;
+        long ttfbNanos;
+        long totalNanos;
+    }
+
+    /**
+     * Число, сумма и максимум фаз одного действия в текущем тесте.
+     */
+    private static final class TestTimings {
+
+        private final Map<Phase, LongAdder> counts = new EnumMap<>(Phase.class);
+        private final Map<Phase, LongAdder> sums = new EnumMap<>(Phase.class);
+        private final Map<Phase, AtomicLong> maxima = new EnumMap<>(Phase.class);
+
+        TestTimings() {
+            for (Phase phase : Phase.values()) {
+                counts.put(phase, new LongAdder());
+                sums.put(phase, new LongAdder());
+                maxima.put(phase, new AtomicLong());
+            }
+        }
+
+        void record(Probe probe) {
+            if (probe.connectNanos > 0) {
+                add(Phase.CONNECT, probe.connectNanos);
+            }
+            if (probe.ttfbNanos > 0) {
+                add(Phase.TTFB, probe.ttfbNanos);
+            }
+            add(Phase.TOTAL, probe.totalNanos);
+        }
+
+        void appendRows(StringBuilder sb, String action) {
+            for (Phase phase : Phase.values()) {
+                long count = counts.get(phase).sum();
+                if (count == 0) {
+                    continue;
+                }
+                sb.append(String.format(Locale.ROOT, "%-14s %-8s %7d %9.2f %9.2f%n",
+                        action, phase, count,
+                        sums.get(phase).sum() / 1e6 / count,
+                        maxima.get(phase).get() / 1e6));
+            }
+        }
+
+        private void add(Phase phase, long nanos) {
+            counts.get(phase).increment();
+            sums.get(phase).add(nanos);
+            maxima.get(phase).accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * Перцентили фаз одного действия за весь прогон.
+     */
+    private static final class SuiteTimings {
+
+        private final Map<Phase, LatencyStats> phases = new ConcurrentHashMap<>();
+
+        void record(Probe probe) {
+            if (probe.connectNanos > 0) {
+                stats(Phase.CONNECT).recordSuccess(probe.connectNanos);
+            }
+            if (probe.ttfbNanos > 0) {
+                stats(Phase.TTFB).recordSuccess(probe.ttfbNanos);
+            }
+            stats(Phase.TOTAL).recordSuccess(probe.totalNanos);
+        }
+
+        Map<Phase, LatencyStats.Snapshot> snapshot() {
+            Map<Phase, LatencyStats.Snapshot> snapshot = new EnumMap<>(Phase.class);
+            phases.forEach((phase, stats) -> snapshot.put(phase, stats.snapshot()));
+            return snapshot;
+        }
+
+        private LatencyStats stats(Phase phase) {
+            return phases.computeIfAbsent(phase, key -> new LatencyStats());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package by.javaguru.nordcodestests.api;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.BasicClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * HTTP-клиент REST Assured, измеряющий установку соединения и время
+ * до первого байта ответа.
+ * <p>
+ * REST Assured работает поверх {@link DefaultHttpClient}, поэтому клиент
+ * подменяет только две его точки расширения: фабрику сокетов схемы
+ * {@code http} и исполнителя запросов. Замеры передаются в
+ * {@link RequestTimings} текущего потока.
+ */
+@SuppressWarnings("deprecation")
+class TimedHttpClient extends DefaultHttpClient {
+
+    @Override
+    protected ClientConnectionManager createClientConnectionManager() {
+        SchemeRegistry registry = SchemeRegistryFactory.createDefault();
+        registry.register(new Scheme("http", 80, new TimedSocketFactory()));
+        return new BasicClientConnectionManager(registry);
+    }
+
+    @Override
+    protected HttpRequestExecutor createRequestExecutor() {
+        return new TimedRequestExecutor();
+    }
+
+    /**
+     * Замеряет TCP-подключение.
+     */
+    private static final class TimedSocketFactory extends PlainSocketFactory {
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpParams params)
+                throws IOException, ConnectTimeoutException {
+            long start = System.nanoTime();
+            Socket connected = super.connectSocket(socket, remoteAddress, localAddress, params);
+            RequestTimings.connected(System.nanoTime() - start);
+            return connected;
+        }
+    }
+
+    /**
+     * Замеряет время от начала отправки запроса до получения заголовков ответа.
+     */
+    private static final class TimedRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection connection, HttpContext context)
+                throws IOException, HttpException {
+            RequestTimings.sending();
+            return super.doSendRequest(request, connection, context);
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection connection, HttpContext context)
+                throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, connection, context);
+            RequestTimings.firstByte();
+            return response;
+        }
+    }
+}
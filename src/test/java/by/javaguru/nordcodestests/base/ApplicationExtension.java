@@ -0,0 +1,93 @@
+package by.javaguru.nordcodestests.base;
+
+import by.javaguru.nordcodestests.base.ApplicationLifecycle.Lifecycle;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.Optional;
+
+/**
+ * JUnit 5 расширение, управляющее жизненным циклом тестируемого приложения.
+ * <p>
+ * Процесс приложения хранится в корневом {@link ExtensionContext.Store},
+ * поэтому по умолчанию JAR запускается один раз на весь прогон и
+ * останавливается после выполнения последнего теста.
+ * <p>
+ * Тесты, которым требуется чистое внутреннее хранилище токенов,
+ * могут запросить перезапуск через {@link ApplicationLifecycle}.
+ * <p>
+ * Тест может получить процесс приложения параметром
+ * {@code ApplicationProcess application}, например чтобы снимать замеры памяти.
+ */
+public class ApplicationExtension implements BeforeAllCallback, BeforeEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(ApplicationExtension.class);
+
+    private static final String APPLICATION_KEY = "application";
+
+    @Override
+    public void beforeAll(ExtensionContext context) throws Exception {
+        ApplicationProcess application = application(context);
+
+        if (lifecycleOf(context.getRequiredTestClass()) == Lifecycle.PER_CLASS) {
+            application.restart();
+        } else {
+            application.start();
+        }
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws Exception {
+        ApplicationProcess application = application(context);
+
+        Lifecycle lifecycle = findLifecycle(context.getRequiredTestMethod())
+                .orElseGet(() -> lifecycleOf(context.getRequiredTestClass()));
+
+        if (lifecycle == Lifecycle.PER_TEST) {
+            application.restart();
+        } else {
+            application.start();
+        }
+
+        ApplicationProcess.Startup startup = application.takeUnreportedStartup();
+        if (startup != null) {
+            Allure.addAttachment("Application startup", startup.toString());
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == ApplicationProcess.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return application(extensionContext);
+    }
+
+    /**
+     * Возвращает общий для всего прогона процесс приложения,
+     * создавая его при первом обращении.
+     */
+    static ApplicationProcess application(ExtensionContext context) {
+        return context.getRoot()
+                .getStore(NAMESPACE)
+                .getOrComputeIfAbsent(APPLICATION_KEY, key -> new ApplicationProcess(), ApplicationProcess.class);
+    }
+
+    private static Lifecycle lifecycleOf(Class<?> testClass) {
+        return findLifecycle(testClass).orElse(Lifecycle.PER_SUITE);
+    }
+
+    private static Optional<Lifecycle> findLifecycle(AnnotatedElement element) {
+        return AnnotationSupport.findAnnotation(element, ApplicationLifecycle.class)
+                .map(ApplicationLifecycle::value);
+    }
+}
@@ -0,0 +1,50 @@
+package by.javaguru.nordcodestests.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Задаёт, как часто {@link ApplicationExtension} перезапускает тестируемое приложение.
+ * <p>
+ * Без аннотации приложение запускается один раз на весь прогон
+ * ({@link Lifecycle#PER_SUITE}): тесты изолированы друг от друга за счёт
+ * свежих токенов из {@code TokenGenerator}.
+ * <p>
+ * Аннотация может быть указана на тестовом классе или на отдельном методе;
+ * аннотация метода имеет приоритет.
+ *
+ * <pre>{@code
+ * @Test
+ * @ApplicationLifecycle(Lifecycle.PER_TEST)
+ * void testNeedsCleanTokenStorage() { ... }
+ * }</pre>
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ApplicationLifecycle {
+
+    Lifecycle value();
+
+    enum Lifecycle {
+
+        /**
+         * Один процесс приложения на весь прогон тестов.
+         */
+        PER_SUITE,
+
+        /**
+         * Приложение перезапускается перед каждым тестовым классом.
+         */
+        PER_CLASS,
+
+        /**
+         * Приложение перезапускается перед каждым тестом —
+         * гарантирует чистое внутреннее хранилище токенов.
+         */
+        PER_TEST
+    }
+}
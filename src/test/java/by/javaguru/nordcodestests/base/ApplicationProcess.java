@@ -0,0 +1,303 @@
+package by.javaguru.nordcodestests.base;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Процесс тестируемого приложения (internal-0.0.1-SNAPSHOT.jar).
+ * <p>
+ * Инкапсулирует запуск JAR в отдельном процессе, ожидание его готовности
+ * и остановку. Один экземпляр может переиспользоваться несколькими тестами:
+ * жизненным циклом управляет {@link ApplicationExtension}.
+ * <p>
+ * Реализует {@link AutoCloseable}, поэтому, будучи помещённым в
+ * {@link org.junit.jupiter.api.extension.ExtensionContext.Store}, процесс
+ * автоматически завершается по окончании прогона.
+ * <p>
+ * Опции JVM приложения (сборщик мусора, размер кучи, CDS и т.п.) задаются
+ * конструктором или системным свойством {@code app.jvm.options}
+ * (опции через пробел), например {@code -Dapp.jvm.options="-XX:+UseZGC -Xmx512m"}.
+ * <p>
+ * Первый запуск записывает архив AppCDS, последующие запуски его используют
+ * (см. {@link ClassDataSharing}); время стартов с архивом и без печатается
+ * при закрытии процесса.
+ */
+public class ApplicationProcess implements AutoCloseable {
+
+    /**
+     * Максимальное время ожидания старта приложения.
+     */
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(20);
+
+    private static final File WORKING_DIR = new File("src/test/resources");
+
+    private static final String JAR = "internal-0.0.1-SNAPSHOT.jar";
+
+    private static final String JAVA = "java";
+
+    /**
+     * Старт приложения.
+     *
+     * @param readiness результат ожидания старта
+     * @param cds       как при старте использовался архив AppCDS
+     */
+    public record Startup(ReadinessProbe.Readiness readiness, ClassDataSharing.Mode cds) {
+
+        public Duration startupTime() {
+            return readiness.startupTime();
+        }
+
+        @Override
+        public String toString() {
+            return readiness + ", AppCDS " + cds;
+        }
+    }
+
+    /**
+     * Опции JVM, с которыми запускается приложение.
+     */
+    private final List<String> jvmOptions;
+
+    /**
+     * Процесс, в котором запущено приложение, или {@code null}, если приложение остановлено.
+     */
+    private Process process;
+
+    /**
+     * Время каждого старта приложения за прогон.
+     */
+    private final List<Startup> startups = new ArrayList<>();
+
+    /**
+     * Старт, ещё не опубликованный в отчёте (см. {@link #takeUnreportedStartup()}).
+     */
+    private Startup unreportedStartup;
+
+    /**
+     * Временный файл, в который JVM запишет архив AppCDS при остановке, или {@code null}.
+     */
+    private Path pendingCdsDump;
+
+    private ClassDataSharing cds;
+
+    /**
+     * Создаёт процесс с опциями JVM из системного свойства {@code app.jvm.options}.
+     */
+    public ApplicationProcess() {
+        this(parseJvmOptions(System.getProperty("app.jvm.options", "")));
+    }
+
+    /**
+     * @param jvmOptions опции JVM приложения, например {@code List.of("-XX:+UseG1GC", "-Xmx256m")}
+     */
+    public ApplicationProcess(List<String> jvmOptions) {
+        this.jvmOptions = List.copyOf(jvmOptions);
+    }
+
+    /**
+     * Разбивает строку опций JVM по пробелам.
+     */
+    public static List<String> parseJvmOptions(String options) {
+        String trimmed = options.trim();
+        return trimmed.isEmpty() ? List.of() : Arrays.asList(trimmed.split("\\s+"));
+    }
+
+    /**
+     * @return опции JVM, с которыми запускается приложение
+     */
+    public List<String> jvmOptions() {
+        return jvmOptions;
+    }
+
+    /**
+     * Запускает приложение, если оно ещё не запущено.
+     *
+     * @throws IOException          если JAR не найден или запуск невозможен
+     * @throws InterruptedException если ожидание старта было прервано
+     */
+    public synchronized void start() throws IOException, InterruptedException {
+        if (isRunning()) {
+            return;
+        }
+        startApplication();
+    }
+
+    /**
+     * Останавливает приложение и дожидается завершения процесса.
+     */
+    public synchronized void stop() {
+        if (process == null) {
+            return;
+        }
+
+        process.destroy();
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        process = null;
+
+        if (pendingCdsDump != null) {
+            cds.publish(pendingCdsDump);
+            pendingCdsDump = null;
+        }
+    }
+
+    /**
+     * Перезапускает приложение. Используется тестами, которым требуется
+     * чистое внутреннее хранилище токенов.
+     *
+     * @throws IOException          если JAR не найден или запуск невозможен
+     * @throws InterruptedException если ожидание старта было прервано
+     */
+    public synchronized void restart() throws IOException, InterruptedException {
+        stop();
+        start();
+    }
+
+    /**
+     * @return {@code true}, если процесс приложения запущен и ещё не завершился
+     */
+    public synchronized boolean isRunning() {
+        return process != null && process.isAlive();
+    }
+
+    /**
+     * @return идентификатор процесса приложения, например для {@link ProcessMemory}
+     * @throws IllegalStateException если приложение не запущено
+     */
+    public synchronized long pid() {
+        if (!isRunning()) {
+            throw new IllegalStateException("Application is not running");
+        }
+        return process.pid();
+    }
+
+    /**
+     * Возвращает последний старт приложения, если он ещё не был опубликован
+     * в отчёте, и помечает его опубликованным.
+     *
+     * @return результат старта или {@code null}, если приложение с момента
+     * последнего вызова не перезапускалось
+     */
+    public synchronized Startup takeUnreportedStartup() {
+        Startup startup = unreportedStartup;
+        unreportedStartup = null;
+        return startup;
+    }
+
+    /**
+     * @return время всех стартов приложения за прогон, в порядке запуска
+     */
+    public synchronized List<Startup> startups() {
+        return List.copyOf(startups);
+    }
+
+    @Override
+    public void close() {
+        stop();
+
+        String summary = formatStartups();
+        if (!summary.isEmpty()) {
+            System.out.println("Application startups: " + summary);
+        }
+    }
+
+    /**
+     * Форматирует среднее время старта по режимам AppCDS,
+     * например {@code DUMP: 1 x 1650 ms, ARCHIVE: 12 x 910 ms}.
+     */
+    synchronized String formatStartups() {
+        Map<ClassDataSharing.Mode, List<Startup>> byMode = new EnumMap<>(ClassDataSharing.Mode.class);
+        for (Startup startup : startups) {
+            byMode.computeIfAbsent(startup.cds(), mode -> new ArrayList<>()).add(startup);
+        }
+        StringBuilder sb = new StringBuilder();
+        byMode.forEach((mode, list) -> {
+            double averageMs = list.stream().mapToLong(startup -> startup.startupTime().toMillis()).average().orElse(0);
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(String.format(Locale.ROOT, "%s: %d x %.0f ms", mode, list.size(), averageMs));
+        });
+        return sb.toString();
+    }
+
+    /**
+     * Запускает тестируемое приложение в отдельном процессе.
+     * <p>
+     * Приложение запускается с опциями JVM {@link #jvmOptions()} и параметрами:
+     * <ul>
+     *     <li>-Dsecret=qazWSXedc — секрет приложения</li>
+     *     <li>-Dserver.port — порт приложения из {@link TestEnvironment}</li>
+     *     <li>-Dmock — адрес WireMock из {@link TestEnvironment}</li>
+     * </ul>
+     * и, если архив AppCDS не отключён, с его записью или использованием.
+     *
+     * После старта {@link ReadinessProbe} дожидается строки об успешном старте
+     * в логе приложения, а время старта сохраняется как метрика.
+     *
+     * @throws IOException если JAR не найден или запуск невозможен
+     * @throws InterruptedException если ожидание старта было прервано
+     */
+    private void startApplication() throws IOException, InterruptedException {
+        System.out.println("Starting application JAR" + (jvmOptions.isEmpty() ? "" : " with " + jvmOptions) + "...");
+
+        if (cds == null) {
+            cds = ClassDataSharing.forJar(new File(WORKING_DIR, JAR).toPath(), JAVA, jvmOptions);
+        }
+        ClassDataSharing.Mode cdsMode = cds.mode();
+
+        List<String> command = new ArrayList<>();
+        command.add(JAVA);
+        command.addAll(jvmOptions);
+        if (cdsMode == ClassDataSharing.Mode.ARCHIVE) {
+            command.add(cds.useOption());
+        } else if (cdsMode == ClassDataSharing.Mode.DUMP) {
+            pendingCdsDump = cds.newDumpTarget();
+            command.add(ClassDataSharing.dumpOption(pendingCdsDump));
+        }
+        command.addAll(List.of(
+                "-Dsecret=qazWSXedc",
+                "-Dserver.port=" + TestEnvironment.appPort(),
+                "-Dmock=" + TestEnvironment.mockBaseUri(),
+                "-jar",
+                JAR
+        ));
+
+        ProcessBuilder pb = new ProcessBuilder(command);
+
+        pb.directory(WORKING_DIR);
+        pb.redirectErrorStream(true);
+
+        ReadinessProbe.Readiness readiness;
+        try {
+            long launchedAt = System.nanoTime();
+            process = pb.start();
+            readiness = new ReadinessProbe(process, launchedAt, TestEnvironment.HOST, TestEnvironment.appPort()).awaitReady(START_TIMEOUT);
+        } catch (IOException | RuntimeException | InterruptedException e) {
+            // Архив незапустившегося приложения неполон: удаляем его, а не публикуем
+            Path dump = pendingCdsDump;
+            pendingCdsDump = null;
+            stop();
+            if (dump != null) {
+                ClassDataSharing.discard(dump);
+            }
+            throw e;
+        }
+
+        Startup startup = new Startup(readiness, cdsMode);
+        System.out.println("Application is UP in " + startup);
+        startups.add(startup);
+        unreportedStartup = startup;
+    }
+}
@@ -0,0 +1,219 @@
+package by.javaguru.nordcodestests.base;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Архив AppCDS (динамический архив class data sharing) для тестируемого JAR.
+ * <p>
+ * Первый запуск приложения получает {@code -XX:ArchiveClassesAtExit}: при
+ * штатной остановке JVM сохраняет загруженные классы во временный файл,
+ * который затем атомарно переносится на место архива. Последующие запуски
+ * получают {@code -XX:SharedArchiveFile} и стартуют быстрее. Параллельные
+ * форки пишут каждый в свой временный файл и не портят общий архив.
+ * <p>
+ * Архив лежит в {@code target/app-cds}; в имени — размер и время изменения
+ * JAR и отпечаток JDK и опций JVM. Динамический архив годен только для той
+ * JDK и тех настроек сборщика мусора и кучи, с которыми записан (несовместимый
+ * архив JVM молча игнорирует), поэтому новая сборка приложения, другая JDK или
+ * другой набор опций получают свой архив. Если версию JDK определить не удалось,
+ * архив не подключается.
+ * <p>
+ * Отключается свойством {@code -Dapp.cds=false}. Если опции JVM уже задают
+ * CDS ({@code -Xshare}, {@code -XX:SharedArchiveFile}, {@code -XX:ArchiveClassesAtExit}),
+ * архив не подключается.
+ */
+public final class ClassDataSharing {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("app.cds", "true"));
+
+    private static final Path ARCHIVE_DIR = Path.of("target", "app-cds").toAbsolutePath();
+
+    private static final List<String> CDS_OPTIONS =
+            List.of("-Xshare:", "-XX:SharedArchiveFile", "-XX:ArchiveClassesAtExit");
+
+    /**
+     * Как приложение использует архив при запуске.
+     */
+    public enum Mode {
+
+        /**
+         * Архив не используется: отключён, CDS задан опциями JVM или версия JDK неизвестна.
+         */
+        OFF,
+
+        /**
+         * Архива ещё нет, он записывается при остановке приложения.
+         */
+        DUMP,
+
+        /**
+         * Приложение запущено с готовым архивом.
+         */
+        ARCHIVE
+    }
+
+    /**
+     * Максимальное время выполнения {@code java -version}.
+     */
+    private static final long VERSION_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Вывод {@code java -version} по команде запуска; пустая строка — версия неизвестна.
+     */
+    private static final Map<String, String> JDK_VERSIONS = new ConcurrentHashMap<>();
+
+    private final Path archive;
+    private final List<String> jvmOptions;
+    private final boolean jdkKnown;
+
+    private ClassDataSharing(Path archive, List<String> jvmOptions, boolean jdkKnown) {
+        this.archive = archive;
+        this.jvmOptions = jvmOptions;
+        this.jdkKnown = jdkKnown;
+    }
+
+    /**
+     * @param jar         JAR тестируемого приложения
+     * @param javaCommand команда запуска JVM приложения, например {@code java}
+     * @param jvmOptions  опции JVM приложения
+     */
+    public static ClassDataSharing forJar(Path jar, String javaCommand, List<String> jvmOptions) {
+        String jdk = JDK_VERSIONS.computeIfAbsent(javaCommand, ClassDataSharing::javaVersion);
+        List<String> options = normalize(jvmOptions);
+        try {
+            String name = jar.getFileName().toString().replaceFirst("\\.jar$", "");
+            String jvm = UUID.nameUUIDFromBytes((jdk + "\n" + String.join(" ", options))
+                    .getBytes(StandardCharsets.UTF_8)).toString().substring(0, 8);
+            String fingerprint = Files.size(jar) + "-" + Files.getLastModifiedTime(jar).toMillis() + "-" + jvm;
+            return new ClassDataSharing(ARCHIVE_DIR.resolve(name + "-" + fingerprint + ".jsa"), options, !jdk.isEmpty());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + jar, e);
+        }
+    }
+
+    /**
+     * Определяет режим запуска с опциями JVM, для которых создан архив.
+     */
+    public Mode mode() {
+        if (!ENABLED || !jdkKnown
+                || jvmOptions.stream().anyMatch(option -> CDS_OPTIONS.stream().anyMatch(option::startsWith))) {
+            return Mode.OFF;
+        }
+        return Files.isRegularFile(archive) ? Mode.ARCHIVE : Mode.DUMP;
+    }
+
+    /**
+     * Убирает пробелы по краям и пустые опции; порядок сохраняется,
+     * так как при противоречивых опциях действует последняя.
+     */
+    static List<String> normalize(List<String> jvmOptions) {
+        return jvmOptions.stream().map(String::trim).filter(option -> !option.isEmpty()).toList();
+    }
+
+    /**
+     * Выполняет {@code <javaCommand> -version}; вывод включает версию, сборку
+     * и производителя JDK.
+     *
+     * @return вывод команды или пустая строка, если команда не выполнилась
+     */
+    private static String javaVersion(String javaCommand) {
+        Path output = null;
+        try {
+            output = Files.createTempFile("java-version-", ".txt");
+            Process process = new ProcessBuilder(javaCommand, "-version")
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.toFile())
+                    .start();
+            if (!process.waitFor(VERSION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return "";
+            }
+            return process.exitValue() == 0 ? Files.readString(output).trim() : "";
+        } catch (IOException e) {
+            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        } finally {
+            if (output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Возвращает опцию JVM для режима {@link Mode#ARCHIVE}.
+     */
+    public String useOption() {
+        return "-XX:SharedArchiveFile=" + archive;
+    }
+
+    /**
+     * Создаёт временный файл для режима {@link Mode#DUMP}; после остановки
+     * приложения его нужно передать в {@link #publish(Path)}.
+     */
+    public Path newDumpTarget() {
+        try {
+            Files.createDirectories(ARCHIVE_DIR);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create " + ARCHIVE_DIR, e);
+        }
+        return ARCHIVE_DIR.resolve(archive.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    }
+
+    /**
+     * Возвращает опцию JVM для режима {@link Mode#DUMP}.
+     */
+    public static String dumpOption(Path dumpTarget) {
+        return "-XX:ArchiveClassesAtExit=" + dumpTarget;
+    }
+
+    /**
+     * Переносит записанный при остановке архив на место общего архива.
+     * Если JVM архив не записала (например, процесс был убит), ничего не делает.
+     */
+    public void publish(Path dumpTarget) {
+        try {
+            if (Files.isRegularFile(dumpTarget) && Files.size(dumpTarget) > 0) {
+                Files.move(dumpTarget, archive, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                System.out.println("AppCDS archive created: " + archive);
+            } else {
+                Files.deleteIfExists(dumpTarget);
+            }
+        } catch (IOException e) {
+            System.out.println("Unable to publish AppCDS archive " + dumpTarget + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Удаляет временный файл режима {@link Mode#DUMP}, не публикуя его:
+     * например, если приложение не дождалось готовности и архив неполон.
+     */
+    public static void discard(Path dumpTarget) {
+        try {
+            Files.deleteIfExists(dumpTarget);
+        } catch (IOException e) {
+            System.out.println("Unable to delete AppCDS dump " + dumpTarget + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return путь к архиву
+     */
+    public Path archive() {
+        return archive;
+    }
+}
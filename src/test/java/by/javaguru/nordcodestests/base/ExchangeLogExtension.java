@@ -0,0 +1,35 @@
+package by.javaguru.nordcodestests.base;
+
+import by.javaguru.nordcodestests.api.ExchangeLog;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Выводит буфер {@link ExchangeLog} только для упавших тестов.
+ * <p>
+ * Перед каждым тестом буфер очищается. Если тест завершился исключением
+ * (в том числе непрошедшей проверкой), накопленные обмены печатаются в консоль
+ * и прикладываются к тесту в Allure.
+ */
+public class ExchangeLogExtension implements BeforeEachCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ExchangeLog.clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (ExchangeLog.MODE != ExchangeLog.Mode.BUFFERED
+                || context.getExecutionException().isEmpty()
+                || ExchangeLog.isEmpty()) {
+            return;
+        }
+
+        String exchanges = ExchangeLog.format();
+        System.out.println("HTTP exchanges of failed test " + context.getDisplayName() + ":\n" + exchanges);
+        Allure.addAttachment("HTTP exchanges", "text/plain", exchanges, ".txt");
+    }
+}
@@ -0,0 +1,149 @@
+package by.javaguru.nordcodestests.base;
+
+import by.javaguru.nordcodestests.api.RequestTimings.Exchange;
+import by.javaguru.nordcodestests.load.LatencyStats;
+import by.javaguru.nordcodestests.wiremock.MockServer.DownstreamCall;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Разбивка времени запросов к {@code /endpoint} на время внутри сервиса
+ * и ожидание внешних сервисов ({@code /auth}, {@code /doAction}).
+ * <p>
+ * Запрос сопоставляется с записями журнала WireMock по токену в теле
+ * и по времени: учитываются вызовы, полученные между началом и концом запроса.
+ * Ожидание внешнего сервиса — сумма времени обработки этих вызовов в WireMock
+ * (вместе с заданной задержкой); если приложение не дождалось ответа,
+ * ожидание считается до конца запроса. Время в сервисе — полное время
+ * запроса за вычетом ожидания; в него входят и сеть, и разбор запроса.
+ * <p>
+ * Точность журнала WireMock — миллисекунда.
+ */
+final class LatencyBreakdown {
+
+    private static final Pattern TOKEN = Pattern.compile("(?:^|&)token=([^&]*)");
+
+    private static final Map<String, SuiteStats> SUITE = new ConcurrentSkipListMap<>();
+
+    private LatencyBreakdown() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Сопоставляет обмены теста с журналом, добавляет их в сводку прогона
+     * и возвращает таблицу по действиям.
+     *
+     * @return таблица разбивки или {@code null}, если сопоставлять нечего
+     */
+    static String correlateTest(List<Exchange> exchanges, List<DownstreamCall> journal) {
+        if (exchanges.isEmpty() || journal.isEmpty()) {
+            return null;
+        }
+
+        Map<String, List<DownstreamCall>> callsByToken = new HashMap<>();
+        for (DownstreamCall call : journal) {
+            Matcher matcher = TOKEN.matcher(call.body());
+            if (matcher.find()) {
+                callsByToken.computeIfAbsent(matcher.group(1), key -> new ArrayList<>()).add(call);
+            }
+        }
+
+        Map<String, TestStats> test = new TreeMap<>();
+        for (Exchange exchange : exchanges) {
+            long downstreamNanos = Math.min(exchange.totalNanos(),
+                    downstreamNanos(exchange, callsByToken.getOrDefault(exchange.token(), List.of())));
+            long serviceNanos = exchange.totalNanos() - downstreamNanos;
+
+            test.computeIfAbsent(exchange.action(), key -> new TestStats())
+                    .add(exchange.totalNanos(), downstreamNanos);
+            SUITE.computeIfAbsent(exchange.action(), key -> new SuiteStats())
+                    .add(serviceNanos, downstreamNanos);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-14s %7s %10s %14s %11s %11s%n",
+                "action", "count", "total ms", "downstream ms", "service ms", "downstream"));
+        test.forEach((action, stats) -> sb.append(String.format(Locale.ROOT,
+                "%-14s %7d %10.2f %14.2f %11.2f %10.1f%%%n",
+                action, stats.count,
+                stats.totalNanos / 1e6 / stats.count,
+                stats.downstreamNanos / 1e6 / stats.count,
+                (stats.totalNanos - stats.downstreamNanos) / 1e6 / stats.count,
+                stats.totalNanos == 0 ? 0 : 100.0 * stats.downstreamNanos / stats.totalNanos)));
+        return sb.toString();
+    }
+
+    /**
+     * @return сводка прогона с перцентилями времени в сервисе и ожидания
+     * внешних сервисов или {@code null}, если сопоставлений не было
+     */
+    static String formatSuite() {
+        if (SUITE.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-14s %-10s %7s %9s %9s %9s%n",
+                "action", "part", "count", "p50 ms", "p95 ms", "p99 ms"));
+        SUITE.forEach((action, stats) -> {
+            appendRow(sb, action, "service", stats.service.snapshot());
+            appendRow(sb, action, "downstream", stats.downstream.snapshot());
+        });
+        return sb.toString();
+    }
+
+    private static long downstreamNanos(Exchange exchange, List<DownstreamCall> calls) {
+        Instant from = exchange.startedAt().truncatedTo(ChronoUnit.MILLIS);
+        Instant to = exchange.finishedAt();
+
+        long nanos = 0;
+        for (DownstreamCall call : calls) {
+            if (call.receivedAt().isBefore(from) || call.receivedAt().isAfter(to)) {
+                continue;
+            }
+            Duration untilResponse = Duration.between(call.receivedAt(), to);
+            Duration waited = call.serveTime() == null || call.serveTime().compareTo(untilResponse) > 0
+                    ? untilResponse
+                    : call.serveTime();
+            nanos += waited.toNanos();
+        }
+        return nanos;
+    }
+
+    private static void appendRow(StringBuilder sb, String action, String part, LatencyStats.Snapshot stats) {
+        sb.append(String.format(Locale.ROOT, "%-14s %-10s %7d %9.2f %9.2f %9.2f%n",
+                action, part, stats.count(), stats.p50(), stats.p95(), stats.p99()));
+    }
+
+    private static final class TestStats {
+        long count;
+        long totalNanos;
+        long downstreamNanos;
+
+        void add(long total, long downstream) {
+            count++;
+            totalNanos += total;
+            downstreamNanos += downstream;
+        }
+    }
+
+    private static final class SuiteStats {
+        final LatencyStats service = new LatencyStats();
+        final LatencyStats downstream = new LatencyStats();
+
+        void add(long serviceNanos, long downstreamNanos) {
+            service.recordSuccess(serviceNanos);
+            downstream.recordSuccess(downstreamNanos);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package by.javaguru.nordcodestests.base;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Замеры памяти процесса тестируемого приложения.
+ * <p>
+ * RSS читается из {@code /proc/<pid>/status} (только Linux), занятая и
+ * выделенная куча — из вывода {@code jcmd <pid> GC.heap_info}: суммируются
+ * все строки вида {@code total NK, used MK} (поколения Serial / Parallel GC,
+ * общая куча G1). Недоступное значение возвращается как {@code -1}.
+ */
+public final class ProcessMemory {
+
+    private static final Pattern RSS = Pattern.compile("VmRSS:\\s+(\\d+)\\s+kB");
+
+    private static final Pattern HEAP = Pattern.compile("total (\\d+)K, used (\\d+)K");
+
+    /**
+     * Максимальное время выполнения одной команды {@code jcmd}.
+     */
+    private static final long JCMD_TIMEOUT_SECONDS = 30;
+
+    private ProcessMemory() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Память процесса в байтах.
+     *
+     * @param rss           резидентная память процесса
+     * @param heapUsed      занятая часть кучи
+     * @param heapCommitted выделенная куча
+     */
+    public record Usage(long rss, long heapUsed, long heapCommitted) {
+    }
+
+    /**
+     * Снимает замер памяти процесса.
+     *
+     * @param pid     идентификатор процесса
+     * @param gcFirst выполнить перед замером полную сборку мусора
+     *                ({@code jcmd GC.run}), чтобы занятая куча отражала
+     *                живые объекты, а не накопившийся мусор
+     */
+    public static Usage sample(long pid, boolean gcFirst) {
+        if (gcFirst) {
+            jcmd(pid, "GC.run");
+        }
+        long heapUsed = -1;
+        long heapCommitted = -1;
+        String heapInfo = jcmd(pid, "GC.heap_info");
+        if (heapInfo != null) {
+            Matcher matcher = HEAP.matcher(heapInfo);
+            while (matcher.find()) {
+                heapCommitted = Math.max(heapCommitted, 0) + Long.parseLong(matcher.group(1)) * 1024;
+                heapUsed = Math.max(heapUsed, 0) + Long.parseLong(matcher.group(2)) * 1024;
+            }
+        }
+        return new Usage(rss(pid), heapUsed, heapCommitted);
+    }
+
+    private static long rss(long pid) {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        try {
+            Matcher matcher = RSS.matcher(Files.readString(status));
+            return matcher.find() ? Long.parseLong(matcher.group(1)) * 1024 : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Выполняет команду {@code jcmd} и возвращает её вывод
+     * или {@code null}, если команда не выполнилась.
+     * <p>
+     * Вывод пишется во временный файл, а не читается из канала: чтение канала
+     * блокировалось бы до завершения {@code jcmd}, и зависшее подключение
+     * к процессу не ограничивалось бы {@link #JCMD_TIMEOUT_SECONDS}.
+     */
+    private static String jcmd(long pid, String command) {
+        Path jcmd = Path.of(System.getProperty("java.home"), "bin", "jcmd");
+        Path output = null;
+        try {
+            output = Files.createTempFile("jcmd-", ".txt");
+            Process process = new ProcessBuilder(jcmd.toString(), Long.toString(pid), command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.toFile())
+                    .start();
+            if (!process.waitFor(JCMD_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            return process.exitValue() == 0 ? Files.readString(output) : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package by.javaguru.nordcodestests.base;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Проба готовности запущенного приложения.
+ * <p>
+ * Читает stdout дочернего процесса в отдельном потоке и сообщает о готовности,
+ * как только в логе появляется строка об успешном старте Spring Boot.
+ * Поток продолжает вычитывать вывод до завершения процесса, поэтому процесс
+ * не блокируется на переполненном буфере pipe.
+ * <p>
+ * Если строка старта не появилась (например, изменился формат логов),
+ * готовность определяется TCP-подключением к порту приложения
+ * с адаптивной задержкой между попытками: от 10 до 500 мс.
+ */
+public class ReadinessProbe {
+
+    /**
+     * Строки лога, по которым приложение считается запущенным.
+     */
+    private static final Pattern STARTED = Pattern.compile(
+            "Started \\S+ in [\\d.,]+ seconds|Tomcat started on port");
+
+    private static final int TAIL_SIZE = 200;
+    private static final long MIN_BACKOFF_MS = 10;
+    private static final long MAX_BACKOFF_MS = 500;
+    private static final int CONNECT_TIMEOUT_MS = 200;
+
+    private final Process process;
+    private final long launchedAtNanos;
+    private final String host;
+    private final int port;
+    private final CompletableFuture<String> startedLine = new CompletableFuture<>();
+    private final Deque<String> tail = new ArrayDeque<>(TAIL_SIZE);
+
+    /**
+     * Способ, которым была определена готовность приложения.
+     */
+    public enum Signal {
+        LOG_LINE,
+        TCP_CONNECT
+    }
+
+    /**
+     * Результат ожидания старта.
+     *
+     * @param startupTime время от запуска процесса до готовности
+     * @param signal      чем была подтверждена готовность
+     * @param detail      строка лога или адрес, на который удалось подключиться
+     */
+    public record Readiness(Duration startupTime, Signal signal, String detail) {
+
+        @Override
+        public String toString() {
+            return startupTime.toMillis() + " ms (" + signal + ": " + detail + ")";
+        }
+    }
+
+    /**
+     * @param process         запущенный процесс приложения
+     * @param launchedAtNanos момент запуска процесса по {@link System#nanoTime()}
+     * @param host            хост приложения
+     * @param port            порт приложения
+     */
+    public ReadinessProbe(Process process, long launchedAtNanos, String host, int port) {
+        this.process = process;
+        this.launchedAtNanos = launchedAtNanos;
+        this.host = host;
+        this.port = port;
+
+        Thread reader = new Thread(this::drainOutput, "app-stdout-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Ожидает готовности приложения.
+     *
+     * @param timeout максимальное время ожидания
+     * @return время старта и сигнал, по которому определена готовность
+     * @throws InterruptedException если ожидание было прервано
+     * @throws RuntimeException     если процесс завершился или не стал доступен за {@code timeout}
+     */
+    public Readiness awaitReady(Duration timeout) throws InterruptedException {
+        long deadline = launchedAtNanos + timeout.toNanos();
+        long backoffMs = MIN_BACKOFF_MS;
+
+        while (System.nanoTime() < deadline) {
+            try {
+                String line = startedLine.get(backoffMs, TimeUnit.MILLISECONDS);
+                return new Readiness(elapsedSinceLaunch(), Signal.LOG_LINE, line);
+            } catch (TimeoutException ignored) {
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Failed to read application output", e.getCause());
+            }
+
+            if (!process.isAlive()) {
+                throw new RuntimeException("Application exited with code " + process.exitValue()
+                        + " before start. Output:\n" + String.join("\n", tail()));
+            }
+
+            if (canConnect()) {
+                return new Readiness(elapsedSinceLaunch(), Signal.TCP_CONNECT, host + ":" + port);
+            }
+
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+
+        throw new RuntimeException("Application did not start within " + timeout.toMillis()
+                + " ms. Output:\n" + String.join("\n", tail()));
+    }
+
+    /**
+     * @return последние строки вывода приложения (для диагностики)
+     */
+    public List<String> tail() {
+        synchronized (tail) {
+            return new ArrayList<>(tail);
+        }
+    }
+
+    private void drainOutput() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                synchronized (tail) {
+                    if (tail.size() == TAIL_SIZE) {
+                        tail.removeFirst();
+                    }
+                    tail.addLast(line);
+                }
+                if (!startedLine.isDone() && STARTED.matcher(line).find()) {
+                    startedLine.complete(line.strip());
+                }
+            }
+        } catch (IOException e) {
+            startedLine.completeExceptionally(new UncheckedIOException(e));
+        }
+    }
+
+    private boolean canConnect() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Duration elapsedSinceLaunch() {
+        return Duration.ofNanos(System.nanoTime() - launchedAtNanos);
+    }
+}
@@ -0,0 +1,115 @@
+package by.javaguru.nordcodestests.base;
+
+import by.javaguru.nordcodestests.api.RequestTimings;
+import by.javaguru.nordcodestests.wiremock.MockServer;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.ResultsUtils;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Публикует замеры {@link RequestTimings} в Allure.
+ * <p>
+ * К каждому тесту прикладывается таблица «Request timings» с числом,
+ * средним и максимумом фаз CONNECT / TTFB / TOTAL по каждому действию,
+ * и таблица «Latency breakdown» — сколько из этого времени приложение
+ * ждало внешние сервисы (см. {@link LatencyBreakdown}). Таблицы строятся
+ * сразу после теста, до {@code @AfterEach}: {@link TestBase} там очищает
+ * журнал запросов WireMock.
+ * <p>
+ * По окончании прогона перцентили p50/p95/p99 всего прогона печатаются
+ * в консоль и записываются в Allure отдельным результатом
+ * «Request latency summary» (сьют {@value #SUITE}): в отчёте сравнение
+ * версий JAR делается по одному и тому же месту.
+ */
+public class RequestTimingExtension implements BeforeAllCallback, BeforeEachCallback, AfterTestExecutionCallback {
+
+    static final String SUITE = "Performance";
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(RequestTimingExtension.class);
+
+    private static final String SUMMARY_KEY = "summary";
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot()
+                .getStore(NAMESPACE)
+                .getOrComputeIfAbsent(SUMMARY_KEY, key -> new SuiteSummary(), SuiteSummary.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        RequestTimings.resetTest();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (RequestTimings.isTestEmpty()) {
+            return;
+        }
+        Allure.addAttachment("Request timings", "text/plain", RequestTimings.formatTest(), ".txt");
+
+        // Журнал ограничен временем запросов теста (с точностью журнала — 1 мс):
+        // вызовы других тестов сопоставлять незачем
+        List<RequestTimings.Exchange> exchanges = RequestTimings.testExchanges();
+        Instant since = exchanges.stream()
+                .map(RequestTimings.Exchange::startedAt)
+                .min(Comparator.naturalOrder())
+                .orElse(Instant.MAX)
+                .truncatedTo(ChronoUnit.MILLIS);
+        String breakdown = LatencyBreakdown.correlateTest(exchanges, MockServer.journal(since));
+        if (breakdown != null) {
+            Allure.addAttachment("Latency breakdown", "text/plain", breakdown, ".txt");
+        }
+    }
+
+    /**
+     * Сводка прогона, публикуемая при закрытии корневого хранилища JUnit.
+     */
+    private static final class SuiteSummary implements AutoCloseable {
+
+        @Override
+        public void close() {
+            if (RequestTimings.isSuiteEmpty()) {
+                return;
+            }
+
+            String summary = RequestTimings.formatSuite();
+            String breakdown = LatencyBreakdown.formatSuite();
+            if (breakdown != null) {
+                summary += "\nService vs downstream:\n" + breakdown;
+            }
+            System.out.println("Request latency summary:\n" + summary);
+
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            String uuid = UUID.randomUUID().toString();
+            TestResult result = new TestResult()
+                    .setUuid(uuid)
+                    .setName("Request latency summary")
+                    .setFullName(RequestTimingExtension.class.getName() + ".summary")
+                    .setHistoryId("request-latency-summary")
+                    .setStatus(Status.PASSED)
+                    .setLabels(List.of(ResultsUtils.createSuiteLabel(SUITE)));
+
+            lifecycle.scheduleTestCase(result);
+            lifecycle.startTestCase(uuid);
+            lifecycle.addAttachment("Request latency summary", "text/plain", ".txt",
+                    summary.getBytes(StandardCharsets.UTF_8));
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+        }
+    }
+}
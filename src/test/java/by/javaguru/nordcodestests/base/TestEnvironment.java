@@ -0,0 +1,70 @@
+package by.javaguru.nordcodestests.base;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * Адреса тестируемого приложения и WireMock для текущей JVM.
+ * <p>
+ * Порты задаются системными свойствами:
+ * <ul>
+ *     <li>{@code app.port} — порт приложения (по умолчанию {@code 8080});</li>
+ *     <li>{@code mock.port} — порт WireMock (по умолчанию {@code 8888}).</li>
+ * </ul>
+ * Значение {@code 0} означает «выбрать свободный порт». Так работает профиль
+ * {@code parallel}: каждый форк surefire получает собственную пару портов,
+ * собственный экземпляр приложения и собственный {@code MockServer}.
+ * <p>
+ * Порты вычисляются один раз при загрузке класса и не меняются до конца прогона.
+ */
+public final class TestEnvironment {
+
+    public static final String HOST = "localhost";
+
+    private static final int APP_PORT = resolvePort("app.port", 8080);
+    private static final int MOCK_PORT = resolvePort("mock.port", 8888);
+
+    private TestEnvironment() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static int appPort() {
+        return APP_PORT;
+    }
+
+    public static int mockPort() {
+        return MOCK_PORT;
+    }
+
+    /**
+     * @return базовый URI тестируемого приложения, например {@code http://localhost:8080}
+     */
+    public static String appBaseUri() {
+        return "http://" + HOST + ":" + APP_PORT;
+    }
+
+    /**
+     * @return базовый URI WireMock, передаваемый приложению через {@code -Dmock}
+     */
+    public static String mockBaseUri() {
+        return "http://" + HOST + ":" + MOCK_PORT;
+    }
+
+    /**
+     * Возвращает свободный TCP-порт, выделенный операционной системой.
+     */
+    public static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to allocate a free port", e);
+        }
+    }
+
+    private static int resolvePort(String property, int defaultPort) {
+        int port = Integer.getInteger(property, defaultPort);
+        return port == 0 ? freePort() : port;
+    }
+}
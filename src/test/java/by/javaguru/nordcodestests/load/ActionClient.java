@@ -0,0 +1,40 @@
+package by.javaguru.nordcodestests.load;
+
+import by.javaguru.nordcodestests.api.ApiClient;
+import by.javaguru.nordcodestests.api.PooledApiClient;
+
+/**
+ * Клиент, которым виртуальный пользователь отправляет действия на {@code /endpoint}.
+ * <p>
+ * Реализация должна быть потокобезопасной: один экземпляр
+ * используется всеми виртуальными пользователями одновременно.
+ */
+@FunctionalInterface
+public interface ActionClient {
+
+    /**
+     * Отправляет действие и возвращает значение поля {@code result} ответа.
+     *
+     * @param token  токен сессии
+     * @param action действие
+     * @return {@code "OK"}, {@code "ERROR"} или {@code null}, если поле отсутствует
+     * @throws Exception при сетевой ошибке
+     */
+    String send(String token, SessionAction action) throws Exception;
+
+    /**
+     * Клиент на основе {@link ApiClient#sendAction(String, String)}.
+     */
+    static ActionClient restAssured() {
+        return (token, action) -> ApiClient.sendAction(token, action.name()).result();
+    }
+
+    /**
+     * Клиент на основе {@link PooledApiClient#shared()}: пул keep-alive соединений
+     * и заранее собранный шаблон запроса.
+     */
+    static ActionClient pooled() {
+        PooledApiClient client = PooledApiClient.shared();
+        return (token, action) -> client.sendRequest(token, action.name()).result().result();
+    }
+}
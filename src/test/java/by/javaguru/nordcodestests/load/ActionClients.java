@@ -0,0 +1,91 @@
+package by.javaguru.nordcodestests.load;
+
+import by.javaguru.nordcodestests.api.PooledApiClient;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Клиент нагрузочных сценариев, выбранный системным свойством {@code load.client}:
+ * <ul>
+ *     <li>{@code rest-assured} — {@link ActionClient#restAssured()}, поток на пользователя;</li>
+ *     <li>{@code async} — {@link AsyncActionClient#httpClient()}, неблокирующий;</li>
+ *     <li>{@code pooled} — {@link ActionClient#pooled()}: пул keep-alive соединений
+ *     размером {@code api.pool.size} и шаблон запроса;</li>
+ *     <li>{@code nio} — {@link AsyncActionClient#nio()}: {@code api.nio.connections}
+ *     соединений, до {@code api.nio.pipeline} конвейерных запросов в каждом.</li>
+ * </ul>
+ * Новый вариант клиента добавляется здесь, а не в каждом нагрузочном тесте.
+ */
+public final class ActionClients {
+
+    public static final String REST_ASSURED = "rest-assured";
+    public static final String ASYNC = "async";
+    public static final String POOLED = "pooled";
+    public static final String NIO = "nio";
+
+    private static final List<String> NAMES = List.of(REST_ASSURED, ASYNC, POOLED, NIO);
+
+    private final String name;
+
+    private ActionClients(String name) {
+        if (!NAMES.contains(name)) {
+            throw new IllegalArgumentException("Unknown load.client: " + name + ", expected one of " + NAMES);
+        }
+        this.name = name;
+    }
+
+    /**
+     * @param defaultName клиент, если свойство {@code load.client} не задано
+     */
+    public static ActionClients fromSystemProperty(String defaultName) {
+        return new ActionClients(System.getProperty("load.client", defaultName));
+    }
+
+    /**
+     * @return значение {@code load.client}
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return {@code true} для {@code pooled}: к отчёту можно добавить
+     * статистику соединений {@link PooledApiClient#shared()}
+     */
+    public boolean isPooled() {
+        return POOLED.equals(name);
+    }
+
+    /**
+     * Создаёт генератор нагрузки с выбранным клиентом.
+     *
+     * @param tokens источник токенов
+     */
+    public LoadRunner newRunner(Supplier<String> tokens) {
+        switch (name) {
+            case REST_ASSURED:
+                return new LoadRunner(ActionClient.restAssured(), tokens);
+            case POOLED:
+                return new LoadRunner(ActionClient.pooled(), tokens);
+            default:
+                return new LoadRunner(asyncClient(), tokens);
+        }
+    }
+
+    /**
+     * Возвращает неблокирующий клиент для сценариев без пула потоков.
+     *
+     * @throws IllegalArgumentException если выбран блокирующий клиент
+     */
+    public AsyncActionClient asyncClient() {
+        switch (name) {
+            case ASYNC:
+                return AsyncActionClient.httpClient();
+            case NIO:
+                return AsyncActionClient.nio();
+            default:
+                throw new IllegalArgumentException("Non-blocking load.client (async or nio) required: " + name);
+        }
+    }
+}
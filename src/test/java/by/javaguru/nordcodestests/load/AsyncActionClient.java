@@ -0,0 +1,60 @@
+package by.javaguru.nordcodestests.load;
+
+import by.javaguru.nordcodestests.api.AsyncApiClient;
+import by.javaguru.nordcodestests.api.NioApiDriver;
+import by.javaguru.nordcodestests.api.ApiResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Неблокирующий клиент виртуального пользователя.
+ * <p>
+ * {@link LoadRunner} строит сессию как цепочку {@link CompletableFuture},
+ * поэтому с асинхронным клиентом число одновременных сессий
+ * не ограничено числом потоков.
+ */
+@FunctionalInterface
+public interface AsyncActionClient {
+
+    /**
+     * Отправляет действие и возвращает значение поля {@code result} ответа.
+     *
+     * @return future со значением {@code result}; завершается исключением при сетевой ошибке
+     */
+    CompletableFuture<String> send(String token, SessionAction action);
+
+    /**
+     * Клиент на основе {@link AsyncApiClient}.
+     */
+    static AsyncActionClient httpClient() {
+        return (token, action) -> AsyncApiClient.sendAction(token, action.name())
+                .thenApply(ApiResult::result);
+    }
+
+    /**
+     * Клиент на основе общего {@link NioApiDriver}: минимальные накладные расходы
+     * на стороне клиента и, при {@code api.nio.pipeline > 1}, конвейерные запросы.
+     */
+    static AsyncActionClient nio() {
+        NioApiDriver driver = NioApiDriver.shared();
+        return (token, action) -> driver.send(token, action.name())
+                .thenApply(NioApiDriver.Reply::result);
+    }
+
+    /**
+     * Адаптирует блокирующий клиент: каждый вызов выполняется на {@code executor}.
+     */
+    static AsyncActionClient blocking(ActionClient client, Executor executor) {
+        return (token, action) -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return client.send(token, action);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,218 @@
+package by.javaguru.nordcodestests.load;
+
+import io.qameta.allure.Allure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Поиск наибольшей частоты сессий LOGIN → ACTION → LOGOUT, которую сервис
+ * выдерживает в рамках SLO.
+ * <p>
+ * Каждая ступень — прогон open-модели с фиксированной частотой. Частота растёт
+ * в {@code growthFactor} раз от {@code startRate}, пока ступень не нарушит SLO
+ * или не будет достигнута {@code maxRate}. После первого нарушения граница
+ * уточняется двоичным поиском между последней выдержанной и первой
+ * невыдержанной частотой, пока зазор не станет меньше {@code precision}
+ * (доля от невыдержанной частоты). Общее число ступеней ограничено {@code maxSteps}.
+ * <p>
+ * Системные свойства для {@link #fromSystemProperties()}:
+ * {@code capacity.start.rate} — первая ступень, сессий в секунду (по умолчанию 10);
+ * {@code capacity.growth} — множитель частоты до первого нарушения (2);
+ * {@code capacity.max.rate} — верхняя граница поиска (5000);
+ * {@code capacity.precision} — точность двоичного поиска (0.05);
+ * {@code capacity.max.steps} — предельное число ступеней (16).
+ */
+public final class CapacitySearch {
+
+    private final double startRate;
+    private final double growthFactor;
+    private final double maxRate;
+    private final double precision;
+    private final int maxSteps;
+
+    public CapacitySearch(double startRate, double growthFactor, double maxRate, double precision, int maxSteps) {
+        if (startRate <= 0 || growthFactor <= 1 || maxRate < startRate || precision <= 0 || precision >= 1
+                || maxSteps < 1) {
+            throw new IllegalArgumentException("Invalid capacity search: start " + startRate + "/s, growth x"
+                    + growthFactor + ", max " + maxRate + "/s, precision " + precision + ", steps " + maxSteps);
+        }
+        this.startRate = startRate;
+        this.growthFactor = growthFactor;
+        this.maxRate = maxRate;
+        this.precision = precision;
+        this.maxSteps = maxSteps;
+    }
+
+    public static CapacitySearch fromSystemProperties() {
+        return new CapacitySearch(
+                Double.parseDouble(System.getProperty("capacity.start.rate", "10")),
+                Double.parseDouble(System.getProperty("capacity.growth", "2")),
+                Double.parseDouble(System.getProperty("capacity.max.rate", "5000")),
+                Double.parseDouble(System.getProperty("capacity.precision", "0.05")),
+                Integer.getInteger("capacity.max.steps", 16));
+    }
+
+    /**
+     * Одна ступень нагрузки.
+     */
+    @FunctionalInterface
+    public interface Step {
+
+        /**
+         * Выполняет прогон с заданной частотой новых сессий.
+         */
+        LoadReport run(double sessionsPerSecond) throws InterruptedException;
+    }
+
+    /**
+     * Цель по уровню обслуживания для одной ступени.
+     *
+     * @param p99Ms              допустимый p99 каждого действия, мс
+     * @param maxErrorRatio      допустимая доля запросов с {@code ERROR} или исключением
+     * @param minThroughputRatio какую долю заданной частоты сессий сервис должен
+     *                           фактически завершить за окно ступени
+     */
+    public record Slo(double p99Ms, double maxErrorRatio, double minThroughputRatio) {
+
+        /**
+         * Системные свойства: {@code capacity.slo.p99.ms} (по умолчанию 200),
+         * {@code capacity.slo.errors} (0.01), {@code capacity.slo.throughput} (0.95).
+         */
+        public static Slo fromSystemProperties() {
+            return new Slo(
+                    Double.parseDouble(System.getProperty("capacity.slo.p99.ms", "200")),
+                    Double.parseDouble(System.getProperty("capacity.slo.errors", "0.01")),
+                    Double.parseDouble(System.getProperty("capacity.slo.throughput", "0.95")));
+        }
+
+        /**
+         * Проверяет ступень.
+         *
+         * @return результат ступени с причиной нарушения, если оно есть
+         */
+        public StepResult check(double rate, LoadReport report) {
+            double p99 = report.actions().values().stream()
+                    .mapToDouble(LatencyStats.Snapshot::p99)
+                    .max()
+                    .orElse(Double.NaN);
+            double errors = report.errorRatio();
+            double throughput = report.sessionsPerSecond();
+
+            List<String> violations = new ArrayList<>();
+            if (!(p99 <= p99Ms)) {
+                violations.add(String.format(Locale.ROOT, "p99 %.2f ms > %.2f ms", p99, p99Ms));
+            }
+            if (errors > maxErrorRatio) {
+                violations.add(String.format(Locale.ROOT, "errors %.4f > %.4f", errors, maxErrorRatio));
+            }
+            if (throughput < rate * minThroughputRatio) {
+                violations.add(String.format(Locale.ROOT, "throughput %.1f/s < %.1f/s",
+                        throughput, rate * minThroughputRatio));
+            }
+            return new StepResult(rate, throughput, p99, errors, String.join(", ", violations));
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "p99 <= %.1f ms, errors <= %.4f, throughput >= %.0f%% of target",
+                    p99Ms, maxErrorRatio, minThroughputRatio * 100);
+        }
+    }
+
+    /**
+     * Итог одной ступени.
+     *
+     * @param rate              заданная частота новых сессий в секунду
+     * @param sessionsPerSecond фактически завершено сессий в секунду
+     * @param p99Ms             наибольший p99 среди действий, мс
+     * @param errorRatio        доля неуспешных запросов
+     * @param violation         нарушенные условия SLO; пустая строка, если ступень выдержана
+     */
+    public record StepResult(double rate, double sessionsPerSecond, double p99Ms, double errorRatio,
+                             String violation) {
+
+        public boolean passed() {
+            return violation.isEmpty();
+        }
+    }
+
+    /**
+     * Итог поиска.
+     *
+     * @param slo             цель, по которой проверялись ступени
+     * @param steps           ступени в порядке выполнения
+     * @param sustainableRate наибольшая выдержанная частота; {@code 0}, если не выдержана ни одна ступень
+     * @param limitFound      было ли нарушение SLO; {@code false} означает, что
+     *                        сервис выдержал верхнюю границу поиска
+     */
+    public record Result(Slo slo, List<StepResult> steps, double sustainableRate, boolean limitFound) {
+
+        /**
+         * Форматирует отчёт о ёмкости в виде текстовой таблицы.
+         */
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "SLO:        %s%n", slo));
+            sb.append(String.format(Locale.ROOT, "Capacity:   %.1f sessions/s%s%n%n", sustainableRate,
+                    limitFound ? "" : " (upper search bound, limit not reached)"));
+            sb.append(String.format(Locale.ROOT, "%4s %10s %12s %9s %8s  %s%n",
+                    "step", "target/s", "achieved/s", "p99 ms", "errors", "status"));
+            for (int i = 0; i < steps.size(); i++) {
+                StepResult step = steps.get(i);
+                sb.append(String.format(Locale.ROOT, "%4d %10.1f %12.1f %9.2f %8.4f  %s%n",
+                        i + 1, step.rate(), step.sessionsPerSecond(), step.p99Ms(), step.errorRatio(),
+                        step.passed() ? "OK" : step.violation()));
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Прикладывает отчёт к текущему тесту в Allure.
+         */
+        public void attachToAllure(String name) {
+            Allure.addAttachment(name, "text/plain", format(), ".txt");
+        }
+    }
+
+    /**
+     * Выполняет поиск.
+     *
+     * @param slo  цель по уровню обслуживания
+     * @param step прогон одной ступени
+     * @throws InterruptedException если прогон был прерван
+     */
+    public Result search(Slo slo, Step step) throws InterruptedException {
+        List<StepResult> steps = new ArrayList<>();
+        double passed = 0;
+        double failed = Double.POSITIVE_INFINITY;
+        double rate = startRate;
+
+        while (steps.size() < maxSteps) {
+            StepResult result = slo.check(rate, step.run(rate));
+            steps.add(result);
+            System.out.printf(Locale.ROOT, "Capacity step %.1f/s: %s%n",
+                    rate, result.passed() ? "OK" : result.violation());
+
+            if (result.passed()) {
+                passed = Math.max(passed, rate);
+            } else {
+                failed = Math.min(failed, rate);
+            }
+
+            if (failed == Double.POSITIVE_INFINITY) {
+                if (rate >= maxRate) {
+                    break;
+                }
+                rate = Math.min(rate * growthFactor, maxRate);
+            } else {
+                if (failed - passed <= failed * precision) {
+                    break;
+                }
+                rate = (passed + failed) / 2;
+            }
+        }
+        return new Result(slo, List.copyOf(steps), passed, failed != Double.POSITIVE_INFINITY);
+    }
+}
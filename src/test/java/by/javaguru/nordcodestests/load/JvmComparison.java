@@ -0,0 +1,72 @@
+package by.javaguru.nordcodestests.load;
+
+import io.qameta.allure.Allure;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Сравнение запусков тестируемого приложения с разными опциями JVM
+ * на одном и том же нагрузочном сценарии.
+ *
+ * @param variants результаты по каждому набору опций в порядке запуска
+ */
+public record JvmComparison(List<Variant> variants) {
+
+    /**
+     * Результат одного набора опций.
+     *
+     * @param options  опции JVM; пустая строка — опции по умолчанию
+     * @param startup  время старта приложения или {@code null}, если оно не запустилось
+     * @param cds      режим AppCDS при старте ({@code OFF}, {@code DUMP} или {@code ARCHIVE}):
+     *                 время старта с архивом и без него несравнимо; {@code null}, если
+     *                 приложение не запустилось
+     * @param load     отчёт нагрузочного прогона или {@code null}
+     * @param rssBytes RSS процесса по окончании нагрузки или {@code -1}
+     * @param error    причина, по которой вариант не удалось измерить, или {@code null}
+     */
+    public record Variant(String options, Duration startup, String cds, LoadReport load, long rssBytes, String error) {
+
+        public static Variant failed(String options, Duration startup, String cds, String error) {
+            return new Variant(options, startup, cds, null, -1, error);
+        }
+
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Форматирует сравнение в виде текстовой таблицы: время старта и режим
+     * AppCDS, пропускная способность, хвосты латентности сессии и RSS.
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-40s %10s %-7s %11s %9s %9s %9s %8s%n",
+                "jvm options", "startup ms", "AppCDS", "sessions/s", "p95 ms", "p99 ms", "errors", "RSS MB"));
+        for (Variant variant : variants) {
+            String options = variant.options().isEmpty() ? "(default)" : variant.options();
+            String startup = variant.startup() == null ? "n/a" : Long.toString(variant.startup().toMillis());
+            String cds = variant.cds() == null ? "n/a" : variant.cds();
+            if (!variant.succeeded()) {
+                sb.append(String.format(Locale.ROOT, "%-40s %10s %-7s  FAILED: %s%n", options, startup, cds,
+                        variant.error().replaceAll("\\s*\\R\\s*", " | ")));
+                continue;
+            }
+            LatencyStats.Snapshot sessions = variant.load().sessions();
+            sb.append(String.format(Locale.ROOT, "%-40s %10s %-7s %11.1f %9.2f %9.2f %9.4f %8s%n",
+                    options, startup, cds, variant.load().sessionsPerSecond(), sessions.p95(), sessions.p99(),
+                    variant.load().errorRatio(),
+                    variant.rssBytes() < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", variant.rssBytes() / (1024.0 * 1024))));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Прикладывает таблицу к текущему тесту в Allure.
+     */
+    public void attachToAllure(String name) {
+        Allure.addAttachment(name, "text/plain", format(), ".txt");
+    }
+}
@@ -0,0 +1,84 @@
+package by.javaguru.nordcodestests.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Потокобезопасная статистика латентности одного вида запросов.
+ * <p>
+ * Значения хранятся в HdrHistogram с точностью до микросекунды
+ * и тремя значащими цифрами; максимум — одна минута.
+ */
+public class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Записывает успешный запрос.
+     */
+    public void recordSuccess(long latencyNanos) {
+        record(latencyNanos);
+    }
+
+    /**
+     * Записывает запрос, завершившийся {@code ERROR} или исключением.
+     */
+    public void recordError(long latencyNanos) {
+        errors.increment();
+        record(latencyNanos);
+    }
+
+    public void reset() {
+        histogram.reset();
+        errors.reset();
+    }
+
+    /**
+     * @return неизменяемый снимок текущей статистики
+     */
+    public Snapshot snapshot() {
+        Histogram copy = histogram.copy();
+        return new Snapshot(
+                copy.getTotalCount(),
+                errors.sum(),
+                millis(copy.getValueAtPercentile(50)),
+                millis(copy.getValueAtPercentile(90)),
+                millis(copy.getValueAtPercentile(95)),
+                millis(copy.getValueAtPercentile(99)),
+                millis(copy.getValueAtPercentile(99.9)),
+                millis(copy.getMaxValue()));
+    }
+
+    /**
+     * @return копия гистограммы в микросекундах (для объединения и экспорта)
+     */
+    public Histogram histogram() {
+        return histogram.copy();
+    }
+
+    private void record(long latencyNanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Снимок статистики; все перцентили — в миллисекундах.
+     */
+    public record Snapshot(long count, long errors,
+                           double p50, double p90, double p95, double p99, double p999, double max) {
+
+        public double errorRatio() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+}
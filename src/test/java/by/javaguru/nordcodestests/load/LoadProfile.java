@@ -0,0 +1,85 @@
+package by.javaguru.nordcodestests.load;
+
+import java.time.Duration;
+
+/**
+ * Профиль нагрузки для {@link LoadRunner}.
+ * <ul>
+ *     <li><b>closed</b> — фиксированное число виртуальных пользователей, каждый
+ *     выполняет сессии LOGIN → ACTION → LOGOUT одну за другой без пауз;</li>
+ *     <li><b>open</b> — новые сессии стартуют с фиксированной частотой независимо
+ *     от того, успевает ли сервис их обрабатывать.</li>
+ * </ul>
+ */
+public final class LoadProfile {
+
+    public enum Model {
+        CLOSED,
+        OPEN
+    }
+
+    private final Model model;
+    private final int users;
+    private final double sessionsPerSecond;
+    private final Duration duration;
+
+    private LoadProfile(Model model, int users, double sessionsPerSecond, Duration duration) {
+        if (users <= 0) {
+            throw new IllegalArgumentException("users must be positive: " + users);
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive: " + duration);
+        }
+        this.model = model;
+        this.users = users;
+        this.sessionsPerSecond = sessionsPerSecond;
+        this.duration = duration;
+    }
+
+    /**
+     * Закрытая модель: {@code users} пользователей в течение {@code duration}.
+     */
+    public static LoadProfile closed(int users, Duration duration) {
+        return new LoadProfile(Model.CLOSED, users, 0, duration);
+    }
+
+    /**
+     * Открытая модель: {@code sessionsPerSecond} новых сессий в секунду в течение {@code duration}.
+     *
+     * @param maxConcurrentSessions сколько сессий может выполняться одновременно;
+     *                              сессии сверх лимита ждут в очереди, и время ожидания
+     *                              учитывается в латентности сессии
+     */
+    public static LoadProfile open(double sessionsPerSecond, Duration duration, int maxConcurrentSessions) {
+        if (sessionsPerSecond <= 0) {
+            throw new IllegalArgumentException("sessionsPerSecond must be positive: " + sessionsPerSecond);
+        }
+        return new LoadProfile(Model.OPEN, maxConcurrentSessions, sessionsPerSecond, duration);
+    }
+
+    public Model model() {
+        return model;
+    }
+
+    /**
+     * @return число пользователей (closed) или максимум одновременных сессий (open)
+     */
+    public int users() {
+        return users;
+    }
+
+    public double sessionsPerSecond() {
+        return sessionsPerSecond;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return model == Model.CLOSED
+                ? "closed(users=" + users + ", duration=" + duration + ")"
+                : "open(rate=" + sessionsPerSecond + "/s, maxConcurrent=" + users + ", duration=" + duration + ")";
+    }
+}
@@ -0,0 +1,83 @@
+package by.javaguru.nordcodestests.load;
+
+import io.qameta.allure.Allure;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Результат прогона {@link LoadRunner}: пропускная способность
+ * и перцентили латентности по каждому действию.
+ *
+ * @param profile           профиль нагрузки
+ * @param elapsed           фактическая длительность измеряемого окна
+ * @param completedSessions число завершённых сессий (успешных и неуспешных)
+ * @param failedSessions    число сессий, в которых хотя бы одно действие вернуло не {@code OK}
+ * @param actions           статистика по действиям LOGIN / ACTION / LOGOUT
+ * @param sessions          латентность сессии целиком; в open-модели считается
+ *                          от запланированного момента старта и включает ожидание в очереди
+ * @param warmUp            итог прогрева перед измеряемым окном
+ */
+public record LoadReport(LoadProfile profile,
+                         Duration elapsed,
+                         long completedSessions,
+                         long failedSessions,
+                         Map<SessionAction, LatencyStats.Snapshot> actions,
+                         LatencyStats.Snapshot sessions,
+                         WarmUp.Result warmUp) {
+
+    public double sessionsPerSecond() {
+        return perSecond(completedSessions);
+    }
+
+    public double requestsPerSecond() {
+        return perSecond(actions.values().stream().mapToLong(LatencyStats.Snapshot::count).sum());
+    }
+
+    /**
+     * @return доля запросов, вернувших {@code ERROR} или завершившихся исключением
+     */
+    public double errorRatio() {
+        long requests = actions.values().stream().mapToLong(LatencyStats.Snapshot::count).sum();
+        long errors = actions.values().stream().mapToLong(LatencyStats.Snapshot::errors).sum();
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    /**
+     * Форматирует отчёт в виде текстовой таблицы.
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Profile:    %s%n", profile));
+        sb.append(String.format(Locale.ROOT, "Warm-up:    %s%n", warmUp.format()));
+        sb.append(String.format(Locale.ROOT, "Elapsed:    %.1f s%n", elapsed.toMillis() / 1000.0));
+        sb.append(String.format(Locale.ROOT, "Sessions:   %d (%d failed), %.1f sessions/s%n",
+                completedSessions, failedSessions, sessionsPerSecond()));
+        sb.append(String.format(Locale.ROOT, "Requests:   %.1f req/s, error ratio %.4f%n%n",
+                requestsPerSecond(), errorRatio()));
+        sb.append(String.format(Locale.ROOT, "%-8s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "action", "count", "errors", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+        actions.forEach((action, stats) -> appendRow(sb, action.name(), stats));
+        appendRow(sb, "SESSION", sessions);
+        return sb.toString();
+    }
+
+    /**
+     * Прикладывает отчёт к текущему тесту в Allure.
+     */
+    public void attachToAllure(String name) {
+        Allure.addAttachment(name, "text/plain", format(), ".txt");
+    }
+
+    private double perSecond(long count) {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds == 0 ? 0 : count / seconds;
+    }
+
+    private static void appendRow(StringBuilder sb, String name, LatencyStats.Snapshot stats) {
+        sb.append(String.format(Locale.ROOT, "%-8s %9d %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, stats.count(), stats.errors(),
+                stats.p50(), stats.p90(), stats.p95(), stats.p99(), stats.p999(), stats.max()));
+    }
+}
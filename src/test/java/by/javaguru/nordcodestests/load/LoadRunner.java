@@ -0,0 +1,398 @@
+package by.javaguru.nordcodestests.load;
+
+import by.javaguru.nordcodestests.utils.TokenGenerator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Генератор нагрузки для сценария LOGIN → ACTION → LOGOUT на {@code /endpoint}.
+ * <p>
+ * Каждая сессия использует новый токен. Если действие вернуло не {@code OK},
+ * сессия прерывается и считается неуспешной: последующие действия
+ * с этим токеном заведомо завершились бы ошибкой.
+ * <p>
+ * Сессия выполняется как цепочка {@link CompletableFuture}. С асинхронным
+ * клиентом ({@link AsyncActionClient}) потоки не занимаются на время ожидания ответа;
+ * блокирующий клиент ({@link ActionClient}) получает пул из {@link LoadProfile#users()} потоков.
+ * <p>
+ * Перед измеряемым окном может выполняться прогрев ({@link #warmingUp(WarmUp)}):
+ * его сессии в отчёт не попадают, а точка стабилизации публикуется в {@link LoadReport#warmUp()}.
+ * <p>
+ * Часть сессий можно «бросить» после ACTION, не выполняя LOGOUT
+ * ({@link #abandoning(double)}): их токены остаются в хранилище сервиса.
+ * <p>
+ * Один экземпляр выполняет один прогон за раз; статистика сбрасывается
+ * в начале каждого {@link #run(LoadProfile)}.
+ * <p>
+ * Если начатые сессии прогрева или измеряемого окна не завершились за
+ * {@link #DRAIN_TIMEOUT}, прогон завершается {@link IllegalStateException}:
+ * иначе их результаты попали бы в следующее окно или отчёт строился бы
+ * по незавершённой статистике.
+ */
+public class LoadRunner {
+
+    /**
+     * Сколько ждать завершения начатых сессий после окончания окна нагрузки.
+     */
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+
+    /**
+     * Период, с которым прогрев проверяет своё условие.
+     */
+    private static final long WARM_UP_POLL_MILLIS = 10;
+
+    private static final SessionAction[] ACTIONS = SessionAction.values();
+
+    private final ActionClient blockingClient;
+    private final AsyncActionClient asyncClient;
+    private final Supplier<String> tokens;
+
+    private final Map<SessionAction, LatencyStats> actionStats = new EnumMap<>(SessionAction.class);
+    private final LatencyStats sessionStats = new LatencyStats();
+    private final LongAdder completedSessions = new LongAdder();
+    private final LongAdder failedSessions = new LongAdder();
+    private final LongAdder abandonedSessions = new LongAdder();
+    private final AtomicLong startedSessions = new AtomicLong();
+
+    private double abandonRatio;
+    private WarmUp warmUp = WarmUp.none();
+
+    public LoadRunner(ActionClient client) {
+        this(client, null, TokenGenerator::generateToken);
+    }
+
+    public LoadRunner(AsyncActionClient client) {
+        this(null, client, TokenGenerator::generateToken);
+    }
+
+    /**
+     * @param client клиент для отправки действий
+     * @param tokens источник токенов; вызывается один раз на сессию из разных потоков
+     */
+    public LoadRunner(ActionClient client, Supplier<String> tokens) {
+        this(client, null, tokens);
+    }
+
+    /**
+     * @param client клиент для отправки действий
+     * @param tokens источник токенов; вызывается один раз на сессию из разных потоков
+     */
+    public LoadRunner(AsyncActionClient client, Supplier<String> tokens) {
+        this(null, client, tokens);
+    }
+
+    private LoadRunner(ActionClient blockingClient, AsyncActionClient asyncClient, Supplier<String> tokens) {
+        this.blockingClient = blockingClient;
+        this.asyncClient = asyncClient;
+        this.tokens = tokens;
+        for (SessionAction action : ACTIONS) {
+            actionStats.put(action, new LatencyStats());
+        }
+    }
+
+    /**
+     * Задаёт долю сессий, которые завершаются после ACTION без LOGOUT.
+     * Брошенные сессии распределены по прогону равномерно и детерминированно.
+     *
+     * @param ratio доля от {@code 0} (по умолчанию) до {@code 1}
+     * @return этот же генератор
+     */
+    public LoadRunner abandoning(double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Abandon ratio must be in [0, 1]: " + ratio);
+        }
+        this.abandonRatio = ratio;
+        return this;
+    }
+
+    /**
+     * Задаёт прогрев перед измеряемым окном (по умолчанию {@link WarmUp#none()}).
+     *
+     * @return этот же генератор
+     */
+    public LoadRunner warmingUp(WarmUp warmUp) {
+        this.warmUp = warmUp;
+        return this;
+    }
+
+    /**
+     * @return число сессий, завершённых с начала текущего прогона; можно
+     * вызывать из другого потока во время {@link #run(LoadProfile)}
+     */
+    public long completedSessions() {
+        return completedSessions.sum();
+    }
+
+    /**
+     * @return число успешно выполненных сессий без LOGOUT с начала текущего прогона
+     */
+    public long abandonedSessions() {
+        return abandonedSessions.sum();
+    }
+
+    /**
+     * Выполняет прогон по заданному профилю и дожидается завершения всех начатых сессий.
+     *
+     * @return отчёт о прогоне
+     * @throws InterruptedException  если ожидание было прервано
+     * @throws IllegalStateException если начатые сессии не завершились за {@link #DRAIN_TIMEOUT}
+     */
+    public LoadReport run(LoadProfile profile) throws InterruptedException {
+        ExecutorService blockingPool = null;
+        AsyncActionClient client = asyncClient;
+        if (client == null) {
+            blockingPool = Executors.newFixedThreadPool(profile.users(), threadFactory("load-user-"));
+            client = AsyncActionClient.blocking(blockingClient, blockingPool);
+        }
+
+        WarmUp.Result warmUpResult;
+        long startedAt;
+        try {
+            warmUpResult = warmUp.mode() == WarmUp.Mode.NONE
+                    ? WarmUp.Result.skipped()
+                    : runWarmUp(client, profile);
+            if (warmUp.mode() != WarmUp.Mode.NONE) {
+                System.out.println("Warm-up: " + warmUpResult.format());
+            }
+
+            resetStats();
+            startedAt = System.nanoTime();
+            if (profile.model() == LoadProfile.Model.CLOSED) {
+                runClosed(client, profile.users(), new AtomicLong(startedAt + profile.duration().toNanos()));
+            } else {
+                runOpen(client, profile);
+            }
+        } finally {
+            if (blockingPool != null) {
+                blockingPool.shutdownNow();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        Map<SessionAction, LatencyStats.Snapshot> actions = new EnumMap<>(SessionAction.class);
+        actionStats.forEach((action, stats) -> actions.put(action, stats.snapshot()));
+
+        return new LoadReport(
+                profile,
+                elapsed,
+                completedSessions.sum(),
+                failedSessions.sum(),
+                Collections.unmodifiableMap(actions),
+                sessionStats.snapshot(),
+                warmUpResult);
+    }
+
+    private void resetStats() {
+        actionStats.values().forEach(LatencyStats::reset);
+        sessionStats.reset();
+        completedSessions.reset();
+        failedSessions.reset();
+        abandonedSessions.reset();
+        startedSessions.set(0);
+    }
+
+    /**
+     * Прогрев closed-моделью: пользователи выполняют сессии, пока не выполнено
+     * условие {@link #warmUp} или не истекла его предельная длительность.
+     */
+    private WarmUp.Result runWarmUp(AsyncActionClient client, LoadProfile profile) throws InterruptedException {
+        resetStats();
+        long startedAt = System.nanoTime();
+        AtomicLong deadline = new AtomicLong(startedAt + warmUp.maxDuration().toNanos());
+        CountDownLatch finishedUsers = new CountDownLatch(profile.users());
+        for (int i = 0; i < profile.users(); i++) {
+            runUser(client, deadline, finishedUsers);
+        }
+
+        List<Double> throughput = new ArrayList<>();
+        long windowStart = startedAt;
+        long windowSessions = 0;
+        boolean completed = false;
+        while (!finishedUsers.await(WARM_UP_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            long now = System.nanoTime();
+            long sessions = completedSessions.sum();
+            if (warmUp.mode() == WarmUp.Mode.SESSIONS) {
+                completed = sessions >= warmUp.sessions();
+            } else if (now - windowStart >= warmUp.window().toNanos()) {
+                throughput.add((sessions - windowSessions) * 1e9 / (now - windowStart));
+                windowStart = now;
+                windowSessions = sessions;
+                completed = warmUp.isStable(throughput);
+            }
+            if (completed) {
+                break;
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        long sessions = completedSessions.sum();
+
+        deadline.set(System.nanoTime());
+        checkDrained(finishedUsers.await(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS), "Warm-up");
+        return new WarmUp.Result(warmUp, elapsed, sessions, completed, List.copyOf(throughput));
+    }
+
+    /**
+     * Каждый пользователь начинает следующую сессию сразу после завершения предыдущей.
+     *
+     * @param deadline момент по {@link System#nanoTime()}, после которого новые сессии
+     *                 не начинаются; может быть сдвинут во время прогона
+     */
+    private void runClosed(AsyncActionClient client, int users, AtomicLong deadline) throws InterruptedException {
+        CountDownLatch finishedUsers = new CountDownLatch(users);
+
+        for (int i = 0; i < users; i++) {
+            runUser(client, deadline, finishedUsers);
+        }
+
+        long remaining = deadline.get() - System.nanoTime();
+        checkDrained(finishedUsers.await(TimeUnit.NANOSECONDS.toMillis(Math.max(0, remaining)) + DRAIN_TIMEOUT.toMillis(),
+                TimeUnit.MILLISECONDS), "Load window");
+    }
+
+    private void runUser(AsyncActionClient client, AtomicLong deadline, CountDownLatch finishedUsers) {
+        while (System.nanoTime() < deadline.get()) {
+            CompletableFuture<Boolean> session = runSession(client, System.nanoTime());
+            if (!session.isDone()) {
+                session.whenComplete((ignored, error) -> runUser(client, deadline, finishedUsers));
+                return;
+            }
+            // Сессия завершилась синхронно (например, клиент сразу вернул ошибку):
+            // продолжаем в цикле, чтобы не наращивать стек рекурсией.
+        }
+        finishedUsers.countDown();
+    }
+
+    /**
+     * Сессии стартуют по расписанию; не более {@link LoadProfile#users()} одновременно.
+     * Если лимит исчерпан, старт откладывается, а задержка входит в латентность сессии.
+     */
+    private void runOpen(AsyncActionClient client, LoadProfile profile) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + profile.duration().toNanos();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.sessionsPerSecond();
+        Semaphore inFlight = new Semaphore(profile.users());
+
+        for (long i = 0; ; i++) {
+            long intendedStart = startedAt + (long) (i * intervalNanos);
+            if (intendedStart >= deadline) {
+                break;
+            }
+
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+
+            inFlight.acquire();
+            runSession(client, intendedStart).whenComplete((ignored, error) -> inFlight.release());
+        }
+        checkDrained(inFlight.tryAcquire(profile.users(), DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS),
+                "Load window");
+    }
+
+    /**
+     * @param drained завершились ли начатые сессии за {@link #DRAIN_TIMEOUT}
+     * @param phase   фаза прогона для сообщения об ошибке
+     * @throws IllegalStateException если не завершились
+     */
+    private void checkDrained(boolean drained, String phase) {
+        if (!drained) {
+            throw new IllegalStateException(phase + ": " + (startedSessions.get() - completedSessions.sum())
+                    + " sessions still running after drain timeout " + DRAIN_TIMEOUT);
+        }
+    }
+
+    /**
+     * Выполняет одну сессию LOGIN → ACTION → LOGOUT с новым токеном
+     * (без LOGOUT, если сессия брошена).
+     *
+     * @param intendedStart момент, когда сессия должна была начаться
+     */
+    private CompletableFuture<Boolean> runSession(AsyncActionClient client, long intendedStart) {
+        String token = tokens.get();
+        boolean abandoned = isAbandoned(startedSessions.getAndIncrement());
+
+        return runActions(client, token, 0, abandoned ? ACTIONS.length - 1 : ACTIONS.length).thenApply(success -> {
+            long sessionLatency = System.nanoTime() - intendedStart;
+            if (success) {
+                sessionStats.recordSuccess(sessionLatency);
+                if (abandoned) {
+                    abandonedSessions.increment();
+                }
+            } else {
+                sessionStats.recordError(sessionLatency);
+                failedSessions.increment();
+            }
+            completedSessions.increment();
+            return success;
+        });
+    }
+
+    /**
+     * Сессия с номером {@code n} брошена, если на ней целая часть
+     * {@code n * abandonRatio} увеличивается.
+     */
+    private boolean isAbandoned(long n) {
+        return abandonRatio > 0 && Math.floor((n + 1) * abandonRatio) > Math.floor(n * abandonRatio);
+    }
+
+    private CompletableFuture<Boolean> runActions(AsyncActionClient client, String token, int index, int end) {
+        if (index == end) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        SessionAction action = ACTIONS[index];
+        long start = System.nanoTime();
+
+        CompletableFuture<String> result;
+        try {
+            result = client.send(token, action);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result
+                .handle((value, error) -> {
+                    long latency = System.nanoTime() - start;
+                    boolean ok = error == null && "OK".equals(value);
+                    if (ok) {
+                        actionStats.get(action).recordSuccess(latency);
+                    } else {
+                        actionStats.get(action).recordError(latency);
+                    }
+                    return ok;
+                })
+                .thenCompose(ok -> ok
+                        ? runActions(client, token, index + 1, end)
+                        : CompletableFuture.completedFuture(false));
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
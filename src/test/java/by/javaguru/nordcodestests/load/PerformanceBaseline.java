@@ -0,0 +1,126 @@
+package by.javaguru.nordcodestests.load;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Эталонные показатели нагрузочного сценария, с которыми сравнивается
+ * новая сборка приложения (см. {@link RegressionGate}).
+ * <p>
+ * Хранится в JSON вида:
+ * <pre>{@code
+ * {
+ *   "recordedAt": "2026-01-01T12:00:00Z",
+ *   "profile": "closed(users=10, duration=PT30S)",
+ *   "sessionsPerSecond": 120.5,
+ *   "errorRatio": 0.0,
+ *   "p95": { "LOGIN": 12.3, "ACTION": 10.1, "LOGOUT": 4.2 }
+ * }
+ * }</pre>
+ * Перцентили — в миллисекундах.
+ *
+ * @param recordedAt        когда был снят эталон
+ * @param profile           описание профиля нагрузки
+ * @param sessionsPerSecond пропускная способность в сессиях в секунду
+ * @param errorRatio        доля запросов, вернувших {@code ERROR} или завершившихся исключением
+ * @param p95               95-й перцентиль латентности по действиям
+ */
+public record PerformanceBaseline(Instant recordedAt,
+                                  String profile,
+                                  double sessionsPerSecond,
+                                  double errorRatio,
+                                  Map<SessionAction, Double> p95) {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /**
+     * Снимает показатели с отчёта нагрузочного прогона.
+     */
+    public static PerformanceBaseline from(LoadReport report) {
+        Map<SessionAction, Double> p95 = new EnumMap<>(SessionAction.class);
+        report.actions().forEach((action, stats) -> p95.put(action, stats.p95()));
+        return new PerformanceBaseline(Instant.now(), report.profile().toString(), report.sessionsPerSecond(),
+                report.errorRatio(), p95);
+    }
+
+    /**
+     * Читает эталон из файла.
+     *
+     * @throws IOException если файл не читается или не является JSON эталона
+     */
+    public static PerformanceBaseline read(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+             JsonParser parser = JSON.createParser(reader)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+
+            Instant recordedAt = null;
+            String profile = null;
+            double sessionsPerSecond = 0;
+            double errorRatio = 0;
+            Map<SessionAction, Double> p95 = new EnumMap<>(SessionAction.class);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "recordedAt" -> recordedAt = Instant.parse(parser.getText());
+                    case "profile" -> profile = parser.getText();
+                    case "sessionsPerSecond" -> sessionsPerSecond = parser.getDoubleValue();
+                    case "errorRatio" -> errorRatio = parser.getDoubleValue();
+                    case "p95" -> {
+                        expect(value, JsonToken.START_OBJECT, parser);
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            SessionAction action = SessionAction.valueOf(parser.currentName());
+                            parser.nextToken();
+                            p95.put(action, parser.getDoubleValue());
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            return new PerformanceBaseline(recordedAt, profile, sessionsPerSecond, errorRatio, p95);
+        }
+    }
+
+    /**
+     * Записывает эталон в файл, создавая недостающие каталоги.
+     */
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+             JsonGenerator generator = JSON.createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeStringField("recordedAt", recordedAt.toString());
+            generator.writeStringField("profile", profile);
+            generator.writeNumberField("sessionsPerSecond", sessionsPerSecond);
+            generator.writeNumberField("errorRatio", errorRatio);
+            generator.writeObjectFieldStart("p95");
+            for (Map.Entry<SessionAction, Double> entry : p95.entrySet()) {
+                generator.writeNumberField(entry.getKey().name(), entry.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but was " + actual + " at " + parser.currentLocation());
+        }
+    }
+}
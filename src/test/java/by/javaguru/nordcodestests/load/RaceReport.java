@@ -0,0 +1,82 @@
+package by.javaguru.nordcodestests.load;
+
+import io.qameta.allure.Allure;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Результат прогона {@link RaceStress}.
+ *
+ * @param mode             режим: одновременные действия на одном токене или на разных
+ * @param lanes            число дорожек
+ * @param rounds           раундов на дорожку
+ * @param opsPerRound      действий в раунде
+ * @param elapsed          длительность прогона
+ * @param operations       отправлено действий
+ * @param unanswered       действий без ответа (сетевая ошибка или таймаут)
+ * @param histories        проверено историй «токен × раунд»
+ * @param skipped          не проверено историй: у токена раньше было действие без ответа
+ * @param inconsistencies  историй, которые модель хранилища не объясняет
+ * @param examples         первые несогласованные истории
+ * @param actions          латентность по действиям; {@code errors} включает ожидаемые {@code ERROR}
+ */
+public record RaceReport(RaceStress.Mode mode,
+                         int lanes,
+                         int rounds,
+                         int opsPerRound,
+                         Duration elapsed,
+                         long operations,
+                         long unanswered,
+                         long histories,
+                         long skipped,
+                         long inconsistencies,
+                         List<String> examples,
+                         Map<SessionAction, LatencyStats.Snapshot> actions) {
+
+    public double operationsPerSecond() {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds == 0 ? 0 : operations / seconds;
+    }
+
+    /**
+     * @return во сколько раз пропускная способность этого прогона ниже, чем у {@code baseline}
+     */
+    public double slowdownAgainst(RaceReport baseline) {
+        double throughput = operationsPerSecond();
+        return throughput == 0 ? Double.POSITIVE_INFINITY : baseline.operationsPerSecond() / throughput;
+    }
+
+    /**
+     * Форматирует отчёт в виде текстовой таблицы.
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Mode:       %s (%d lanes x %d rounds x %d ops)%n",
+                mode, lanes, rounds, opsPerRound));
+        sb.append(String.format(Locale.ROOT, "Elapsed:    %.1f s%n", elapsed.toMillis() / 1000.0));
+        sb.append(String.format(Locale.ROOT, "Operations: %d (%d unanswered), %.1f ops/s%n",
+                operations, unanswered, operationsPerSecond()));
+        sb.append(String.format(Locale.ROOT, "Histories:  %d checked, %d inconsistent, %d skipped after unanswered%n%n",
+                histories, inconsistencies, skipped));
+        sb.append(String.format(Locale.ROOT, "%-8s %9s %8s %9s %9s %9s %9s%n",
+                "action", "count", "ERROR", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        actions.forEach((action, stats) -> sb.append(String.format(Locale.ROOT,
+                "%-8s %9d %8d %9.2f %9.2f %9.2f %9.2f%n",
+                action, stats.count(), stats.errors(), stats.p50(), stats.p95(), stats.p99(), stats.max())));
+        if (!examples.isEmpty()) {
+            sb.append(String.format("%nInconsistent histories (first %d):%n", examples.size()));
+            examples.forEach(example -> sb.append("  ").append(example).append(System.lineSeparator()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Прикладывает отчёт к текущему тесту в Allure.
+     */
+    public void attachToAllure(String name) {
+        Allure.addAttachment(name, "text/plain", format(), ".txt");
+    }
+}
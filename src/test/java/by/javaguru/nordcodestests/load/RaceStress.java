@@ -0,0 +1,268 @@
+package by.javaguru.nordcodestests.load;
+
+import by.javaguru.nordcodestests.utils.TokenStream;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Стресс одновременных LOGIN / ACTION / LOGOUT с одним и тем же токеном —
+ * так выглядят повторы клиента в продакшене.
+ * <p>
+ * Прогон состоит из {@code lanes} независимых «дорожек», которые работают одновременно.
+ * Дорожка выполняет {@code rounds} раундов; в раунде {@code opsPerRound} случайных
+ * действий отправляются разом, не дожидаясь друг друга, а следующий раунд начинается,
+ * когда получены все ответы. Режим {@link Mode} определяет, на какие токены идут действия раунда:
+ * <ul>
+ *     <li>{@link Mode#SHARED} — все действия раунда на один токен дорожки: сервис
+ *     получает одновременные запросы к одной записи хранилища;</li>
+ *     <li>{@link Mode#SPREAD} — каждое действие раунда на свой токен дорожки: та же
+ *     нагрузка и тот же набор действий, но без конкуренции за запись.</li>
+ * </ul>
+ * Ответы каждого раунда проверяются {@link TokenStateModel}: для каждого токена
+ * ищется порядок, объясняющий ответы. Неудача — несогласованность хранилища;
+ * после неё состояние токена считается неизвестным. Действие без ответа
+ * ({@link #REQUEST_TIMEOUT} не отменяет HTTP-запрос) может дойти до сервиса
+ * в любом из следующих раундов и изменить состояние без операции в их
+ * истории, поэтому после него токен дорожки больше не проверяется.
+ * Отношение пропускной способности {@code SHARED} к {@code SPREAD}
+ * показывает цену конкуренции.
+ * <p>
+ * Набор действий раундов определяется seed'ом {@link TokenStream}, поэтому
+ * повторный прогон отправляет те же раунды. В конце каждому токену отправляется
+ * LOGOUT, чтобы не оставлять записи в хранилище.
+ * <p>
+ * Системные свойства для {@link #fromSystemProperties(AsyncActionClient)}:
+ * {@code race.lanes} — число дорожек (по умолчанию 100);
+ * {@code race.rounds} — раундов на дорожку (200);
+ * {@code race.ops} — действий в раунде (6, не больше {@link TokenStateModel#MAX_OPERATIONS}).
+ */
+public class RaceStress {
+
+    public enum Mode {
+        SHARED,
+        SPREAD
+    }
+
+    /**
+     * Сколько ждать ответа на действие; по истечении действие считается
+     * без ответа, как при сетевой ошибке.
+     */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Сколько примеров несогласованных историй сохранять в отчёте.
+     */
+    private static final int MAX_EXAMPLES = 20;
+
+    private static final SessionAction[] ACTIONS = SessionAction.values();
+
+    private final AsyncActionClient client;
+    private final int lanes;
+    private final int rounds;
+    private final int opsPerRound;
+
+    private final Map<SessionAction, LatencyStats> actionStats = new EnumMap<>(SessionAction.class);
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder unanswered = new LongAdder();
+    private final LongAdder checkedHistories = new LongAdder();
+    private final LongAdder skippedHistories = new LongAdder();
+    private final LongAdder inconsistencies = new LongAdder();
+    private final List<String> examples = Collections.synchronizedList(new ArrayList<>());
+
+    public RaceStress(AsyncActionClient client, int lanes, int rounds, int opsPerRound) {
+        if (lanes < 1 || rounds < 1 || opsPerRound < 2 || opsPerRound > TokenStateModel.MAX_OPERATIONS) {
+            throw new IllegalArgumentException("Invalid race stress: lanes " + lanes + ", rounds " + rounds
+                    + ", ops per round " + opsPerRound);
+        }
+        this.client = client;
+        this.lanes = lanes;
+        this.rounds = rounds;
+        this.opsPerRound = opsPerRound;
+        for (SessionAction action : ACTIONS) {
+            actionStats.put(action, new LatencyStats());
+        }
+    }
+
+    public static RaceStress fromSystemProperties(AsyncActionClient client) {
+        return new RaceStress(client,
+                Integer.getInteger("race.lanes", 100),
+                Integer.getInteger("race.rounds", 200),
+                Integer.getInteger("race.ops", 6));
+    }
+
+    /**
+     * Выполняет прогон в заданном режиме и дожидается завершения всех дорожек.
+     *
+     * @param tokens корневой поток токенов; дорожки получают из него собственные потоки
+     * @return отчёт о прогоне
+     * @throws InterruptedException если ожидание было прервано
+     */
+    public RaceReport run(Mode mode, TokenStream tokens) throws InterruptedException {
+        resetStats();
+        SplittableRandom actions = new SplittableRandom(tokens.seed());
+        List<Lane> started = new ArrayList<>();
+        for (int i = 0; i < lanes; i++) {
+            started.add(new Lane(mode, tokens.split(), actions.split()));
+        }
+
+        long startedAt = System.nanoTime();
+        await(CompletableFuture.allOf(started.stream()
+                .map(lane -> lane.runRound(0))
+                .toArray(CompletableFuture[]::new)));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        Map<SessionAction, LatencyStats.Snapshot> snapshots = new EnumMap<>(SessionAction.class);
+        actionStats.forEach((action, stats) -> snapshots.put(action, stats.snapshot()));
+        RaceReport report = new RaceReport(mode, lanes, rounds, opsPerRound, elapsed,
+                operations.sum(), unanswered.sum(), checkedHistories.sum(), skippedHistories.sum(),
+                inconsistencies.sum(),
+                List.copyOf(examples), Collections.unmodifiableMap(snapshots));
+
+        await(CompletableFuture.allOf(started.stream().map(Lane::logout).toArray(CompletableFuture[]::new)));
+        return report;
+    }
+
+    private void resetStats() {
+        actionStats.values().forEach(LatencyStats::reset);
+        operations.reset();
+        unanswered.reset();
+        checkedHistories.reset();
+        skippedHistories.reset();
+        inconsistencies.reset();
+        examples.clear();
+    }
+
+    /**
+     * Ждёт завершения дорожек; каждое действие ограничено {@link #REQUEST_TIMEOUT},
+     * поэтому ожидание конечно.
+     */
+    private static void await(CompletableFuture<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Race stress failed", e.getCause());
+        }
+    }
+
+    /**
+     * Последовательность раундов одной дорожки.
+     */
+    private final class Lane {
+
+        private final String[] tokens;
+        private final List<EnumSet<TokenStateModel.State>> states = new ArrayList<>();
+
+        /**
+         * Токены, у которых было действие без ответа: их состояние неизвестно до конца прогона.
+         */
+        private final boolean[] unchecked;
+        private final SplittableRandom random;
+
+        Lane(Mode mode, TokenStream stream, SplittableRandom random) {
+            this.tokens = new String[mode == Mode.SHARED ? 1 : opsPerRound];
+            this.unchecked = new boolean[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = stream.next();
+                states.add(EnumSet.of(TokenStateModel.State.LOGGED_OUT));
+            }
+            this.random = random;
+        }
+
+        CompletableFuture<Void> runRound(int round) {
+            if (round == rounds) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            List<CompletableFuture<TokenStateModel.Operation>> sent = new ArrayList<>(opsPerRound);
+            for (int i = 0; i < opsPerRound; i++) {
+                sent.add(send(ACTIONS[random.nextInt(ACTIONS.length)], tokens[i % tokens.length]));
+            }
+
+            return CompletableFuture.allOf(sent.toArray(CompletableFuture[]::new))
+                    .thenCompose(ignored -> {
+                        check(round, sent.stream().map(CompletableFuture::join).toList());
+                        return runRound(round + 1);
+                    });
+        }
+
+        CompletableFuture<Void> logout() {
+            return CompletableFuture.allOf(Arrays.stream(tokens)
+                    .map(token -> client.send(token, SessionAction.LOGOUT)
+                            .orTimeout(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                            .exceptionally(error -> null))
+                    .toArray(CompletableFuture[]::new));
+        }
+
+        private CompletableFuture<TokenStateModel.Operation> send(SessionAction action, String token) {
+            long invokedAt = System.nanoTime();
+            CompletableFuture<String> result;
+            try {
+                result = client.send(token, action);
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            return result
+                    .orTimeout(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                    .handle((value, error) -> {
+                        long completedAt = System.nanoTime();
+                        String answer = error == null ? value : null;
+                        operations.increment();
+                        if (answer == null) {
+                            unanswered.increment();
+                        }
+                        if ("OK".equals(answer)) {
+                            actionStats.get(action).recordSuccess(completedAt - invokedAt);
+                        } else {
+                            actionStats.get(action).recordError(completedAt - invokedAt);
+                        }
+                        return new TokenStateModel.Operation(action, answer, invokedAt, completedAt);
+                    });
+        }
+
+        /**
+         * Проверяет историю раунда отдельно для каждого токена.
+         * <p>
+         * Действие без ответа модель допускает в любой момент после его начала,
+         * в том числе после всех ответов раунда, так что раунд с ним ещё
+         * проверяется; последующие раунды токена — уже нет.
+         */
+        private void check(int round, List<TokenStateModel.Operation> history) {
+            for (int t = 0; t < tokens.length; t++) {
+                if (unchecked[t]) {
+                    skippedHistories.increment();
+                    continue;
+                }
+                List<TokenStateModel.Operation> ofToken = new ArrayList<>();
+                for (int i = t; i < history.size(); i += tokens.length) {
+                    ofToken.add(history.get(i));
+                }
+                unchecked[t] = ofToken.stream().anyMatch(operation -> !operation.hasResult());
+
+                EnumSet<TokenStateModel.State> before = states.get(t);
+                EnumSet<TokenStateModel.State> after = TokenStateModel.linearize(before, ofToken);
+                checkedHistories.increment();
+                if (after.isEmpty()) {
+                    inconsistencies.increment();
+                    if (examples.size() < MAX_EXAMPLES) {
+                        examples.add("token " + tokens[t] + ", round " + round + ", state before " + before
+                                + ": " + ofToken);
+                    }
+                    after = EnumSet.allOf(TokenStateModel.State.class);
+                }
+                states.set(t, after);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package by.javaguru.nordcodestests.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Сравнение результатов нагрузочного прогона с эталоном {@link PerformanceBaseline}.
+ * <p>
+ * Проверки:
+ * <ul>
+ *     <li>p95 каждого действия не выше эталона больше чем на {@code latencyTolerance}
+ *     (доля) плюс {@code latencySlackMs} — абсолютный запас, чтобы шум
+ *     субмиллисекундных значений не валил проверку;</li>
+ *     <li>пропускная способность не ниже эталона больше чем на {@code throughputTolerance};</li>
+ *     <li>доля ошибок не выше эталона больше чем на {@code errorTolerance} (абсолютная
+ *     доля): сборка, отвечающая {@code ERROR}, отвечает быстрее и иначе прошла бы проверку.</li>
+ * </ul>
+ * Эталон и прогон должны быть сняты с одного профиля нагрузки.
+ * <p>
+ * Системные свойства для {@link #fromSystemProperties()}:
+ * {@code gate.p95.tolerance} (по умолчанию {@code 0.20}),
+ * {@code gate.p95.slack.ms} ({@code 1.0}),
+ * {@code gate.throughput.tolerance} ({@code 0.10}),
+ * {@code gate.error.tolerance} ({@code 0.001}).
+ */
+public final class RegressionGate {
+
+    private final double latencyTolerance;
+    private final double latencySlackMs;
+    private final double throughputTolerance;
+    private final double errorTolerance;
+
+    public RegressionGate(double latencyTolerance, double latencySlackMs, double throughputTolerance,
+                          double errorTolerance) {
+        if (latencyTolerance < 0 || latencySlackMs < 0 || throughputTolerance < 0 || throughputTolerance >= 1
+                || errorTolerance < 0 || errorTolerance >= 1) {
+            throw new IllegalArgumentException("Invalid gate thresholds: p95 +" + latencyTolerance
+                    + " (+" + latencySlackMs + " ms), throughput -" + throughputTolerance
+                    + ", errors +" + errorTolerance);
+        }
+        this.latencyTolerance = latencyTolerance;
+        this.latencySlackMs = latencySlackMs;
+        this.throughputTolerance = throughputTolerance;
+        this.errorTolerance = errorTolerance;
+    }
+
+    public static RegressionGate fromSystemProperties() {
+        return new RegressionGate(
+                Double.parseDouble(System.getProperty("gate.p95.tolerance", "0.20")),
+                Double.parseDouble(System.getProperty("gate.p95.slack.ms", "1.0")),
+                Double.parseDouble(System.getProperty("gate.throughput.tolerance", "0.10")),
+                Double.parseDouble(System.getProperty("gate.error.tolerance", "0.001")));
+    }
+
+    /**
+     * Сравнивает текущий прогон с эталоном.
+     *
+     * @throws IllegalArgumentException если эталон снят с другого профиля нагрузки
+     */
+    public Result compare(PerformanceBaseline baseline, PerformanceBaseline current) {
+        if (!baseline.profile().equals(current.profile())) {
+            throw new IllegalArgumentException("Baseline profile " + baseline.profile()
+                    + " differs from current profile " + current.profile());
+        }
+        List<Check> checks = new ArrayList<>();
+
+        double minThroughput = baseline.sessionsPerSecond() * (1 - throughputTolerance);
+        checks.add(new Check("sessions/s", baseline.sessionsPerSecond(), current.sessionsPerSecond(),
+                minThroughput, current.sessionsPerSecond() >= minThroughput));
+
+        double maxErrorRatio = baseline.errorRatio() + errorTolerance;
+        checks.add(new Check("error %", baseline.errorRatio() * 100, current.errorRatio() * 100,
+                maxErrorRatio * 100, current.errorRatio() <= maxErrorRatio));
+
+        for (Map.Entry<SessionAction, Double> entry : baseline.p95().entrySet()) {
+            double expected = entry.getValue();
+            double maxP95 = expected * (1 + latencyTolerance) + latencySlackMs;
+            Double actual = current.p95().get(entry.getKey());
+            checks.add(new Check(entry.getKey() + " p95 ms", expected, actual == null ? Double.NaN : actual,
+                    maxP95, actual != null && actual <= maxP95));
+        }
+        return new Result(checks);
+    }
+
+    /**
+     * Одна проверка.
+     *
+     * @param metric   название показателя
+     * @param baseline значение в эталоне
+     * @param current  значение в текущем прогоне ({@code NaN}, если показатель не измерен)
+     * @param limit    допустимая граница
+     * @param passed   уложился ли показатель в границу
+     */
+    public record Check(String metric, double baseline, double current, double limit, boolean passed) {
+
+        /**
+         * @return изменение относительно эталона в процентах
+         */
+        public double changePercent() {
+            return baseline == 0 ? 0 : (current - baseline) / baseline * 100;
+        }
+    }
+
+    /**
+     * Итог сравнения.
+     */
+    public record Result(List<Check> checks) {
+
+        public boolean passed() {
+            return checks.stream().allMatch(Check::passed);
+        }
+
+        public List<Check> failures() {
+            return checks.stream().filter(check -> !check.passed()).toList();
+        }
+
+        /**
+         * Форматирует сравнение в виде текстовой таблицы.
+         */
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "%-16s %10s %10s %9s %10s  %s%n",
+                    "metric", "baseline", "current", "change", "limit", "status"));
+            for (Check check : checks) {
+                sb.append(String.format(Locale.ROOT, "%-16s %10.2f %10.2f %8.1f%% %10.2f  %s%n",
+                        check.metric(), check.baseline(), check.current(), check.changePercent(),
+                        check.limit(), check.passed() ? "OK" : "REGRESSION"));
+            }
+            return sb.toString();
+        }
+    }
+}
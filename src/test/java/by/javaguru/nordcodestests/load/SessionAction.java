@@ -0,0 +1,11 @@
+package by.javaguru.nordcodestests.load;
+
+/**
+ * Действия, из которых состоит сессия пользователя на {@code /endpoint}.
+ * Порядок объявления совпадает с порядком выполнения в сессии.
+ */
+public enum SessionAction {
+    LOGIN,
+    ACTION,
+    LOGOUT
+}
@@ -0,0 +1,123 @@
+package by.javaguru.nordcodestests.load;
+
+import io.qameta.allure.Allure;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToLongFunction;
+
+/**
+ * Результат длительного прогона: замеры памяти тестируемого приложения
+ * по ходу нагрузки и её рост в пересчёте на тысячу сессий.
+ * <p>
+ * Рост считается наклоном прямой, проведённой по всем замерам методом
+ * наименьших квадратов: одиночные скачки (сборка мусора, JIT) на него
+ * влияют слабо. Замеры, в которых показатель недоступен ({@code -1}), пропускаются.
+ *
+ * @param load    отчёт нагрузочного прогона
+ * @param samples замеры в порядке снятия; первый — до начала нагрузки
+ */
+public record SoakReport(LoadReport load, List<Sample> samples) {
+
+    /**
+     * Замер памяти.
+     *
+     * @param elapsed            время с начала прогона
+     * @param sessions           завершено сессий к моменту замера
+     * @param abandonedSessions  из них брошено без LOGOUT
+     * @param rssBytes           резидентная память процесса или {@code -1}
+     * @param heapUsedBytes      занятая куча или {@code -1}
+     * @param heapCommittedBytes выделенная куча или {@code -1}
+     */
+    public record Sample(Duration elapsed,
+                         long sessions,
+                         long abandonedSessions,
+                         long rssBytes,
+                         long heapUsedBytes,
+                         long heapCommittedBytes) {
+    }
+
+    /**
+     * @return рост занятой кучи в байтах на тысячу сессий или {@code NaN}, если замеров недостаточно
+     */
+    public double heapGrowthPerThousandSessions() {
+        return slope(Sample::sessions, Sample::heapUsedBytes) * 1000;
+    }
+
+    /**
+     * @return рост RSS в байтах на тысячу сессий или {@code NaN}, если замеров недостаточно
+     */
+    public double rssGrowthPerThousandSessions() {
+        return slope(Sample::sessions, Sample::rssBytes) * 1000;
+    }
+
+    /**
+     * @return рост занятой кучи в байтах на одну брошенную сессию
+     * или {@code NaN}, если сессии не бросались
+     */
+    public double heapGrowthPerAbandonedSession() {
+        return slope(Sample::abandonedSessions, Sample::heapUsedBytes);
+    }
+
+    /**
+     * Форматирует отчёт: итоговый рост и таблицу замеров.
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder(load.format());
+        sb.append(String.format(Locale.ROOT, "%nMemory growth per 1000 sessions: heap %s, RSS %s%n",
+                kilobytes(heapGrowthPerThousandSessions()), kilobytes(rssGrowthPerThousandSessions())));
+        sb.append(String.format(Locale.ROOT, "Heap growth per abandoned session: %s%n%n",
+                bytes(heapGrowthPerAbandonedSession())));
+        sb.append(String.format(Locale.ROOT, "%9s %10s %10s %10s %12s %12s%n",
+                "elapsed", "sessions", "abandoned", "RSS MB", "heap used MB", "heap comm MB"));
+        for (Sample sample : samples) {
+            sb.append(String.format(Locale.ROOT, "%8ds %10d %10d %10s %12s %12s%n",
+                    sample.elapsed().toSeconds(), sample.sessions(), sample.abandonedSessions(),
+                    megabytes(sample.rssBytes()), megabytes(sample.heapUsedBytes()),
+                    megabytes(sample.heapCommittedBytes())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Прикладывает отчёт к текущему тесту в Allure.
+     */
+    public void attachToAllure(String name) {
+        Allure.addAttachment(name, "text/plain", format(), ".txt");
+    }
+
+    private double slope(ToLongFunction<Sample> x, ToLongFunction<Sample> y) {
+        long n = 0;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXY = 0;
+        double sumXX = 0;
+        for (Sample sample : samples) {
+            long value = y.applyAsLong(sample);
+            if (value < 0) {
+                continue;
+            }
+            double xi = x.applyAsLong(sample);
+            n++;
+            sumX += xi;
+            sumY += value;
+            sumXY += xi * value;
+            sumXX += xi * xi;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return n < 2 || denominator == 0 ? Double.NaN : (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    private static String kilobytes(double bytes) {
+        return Double.isNaN(bytes) ? "n/a" : String.format(Locale.ROOT, "%+.1f KB", bytes / 1024);
+    }
+
+    private static String bytes(double bytes) {
+        return Double.isNaN(bytes) ? "n/a" : String.format(Locale.ROOT, "%+.0f B", bytes);
+    }
+
+    private static String megabytes(long bytes) {
+        return bytes < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", bytes / (1024.0 * 1024));
+    }
+}
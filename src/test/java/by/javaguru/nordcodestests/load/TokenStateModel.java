@@ -0,0 +1,169 @@
+package by.javaguru.nordcodestests.load;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Модель хранилища токенов сервиса для проверки одновременных запросов с одним токеном.
+ * <p>
+ * Токен находится в одном из состояний {@link State}; переходы:
+ * <ul>
+ *     <li>LOGIN: {@code LOGGED_OUT → LOGGED_IN} с {@code OK}; в {@code LOGGED_IN} — {@code ERROR};</li>
+ *     <li>ACTION: {@code OK} в {@code LOGGED_IN}, {@code ERROR} в {@code LOGGED_OUT}; состояние не меняется;</li>
+ *     <li>LOGOUT: {@code LOGGED_IN → LOGGED_OUT} с {@code OK}; в {@code LOGGED_OUT} — {@code ERROR}.</li>
+ * </ul>
+ * История одновременных операций корректна, если её можно линеаризовать:
+ * выстроить в последовательность, которая не нарушает порядок операций во времени
+ * (операция, завершившаяся до начала другой, идёт раньше) и в которой каждая
+ * операция получила ответ модели. Операция без ответа (сетевая ошибка) могла
+ * как выполниться с любым результатом, так и не дойти до сервиса.
+ * <p>
+ * Поиск перебирает порядки с запоминанием пройденных состояний «маска
+ * линеаризованных операций × состояние токена». Для {@code n} полностью
+ * перекрывающихся операций таких состояний до {@code 2^(n+1)}, поэтому
+ * длина истории ограничена {@link #MAX_OPERATIONS}.
+ */
+public final class TokenStateModel {
+
+    /**
+     * Наибольшая длина истории: 16 операций — не больше {@code 2^17}
+     * запомненных состояний, несколько мегабайт памяти.
+     */
+    public static final int MAX_OPERATIONS = 16;
+
+    public enum State {
+        LOGGED_OUT,
+        LOGGED_IN
+    }
+
+    /**
+     * Одна операция истории.
+     *
+     * @param action      действие
+     * @param result      {@code "OK"}, {@code "ERROR"} или {@code null}, если ответ не получен
+     * @param invokedAt   момент отправки по {@link System#nanoTime()}
+     * @param completedAt момент получения ответа по {@link System#nanoTime()}
+     */
+    public record Operation(SessionAction action, String result, long invokedAt, long completedAt) {
+
+        public boolean hasResult() {
+            return result != null;
+        }
+
+        @Override
+        public String toString() {
+            return action + "=" + (result == null ? "?" : result) + " [" + invokedAt + ".." + completedAt + "]";
+        }
+    }
+
+    private TokenStateModel() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Применяет действие к состоянию.
+     *
+     * @return ответ модели: {@code "OK"} или {@code "ERROR"}
+     */
+    public static String expectedResult(State state, SessionAction action) {
+        switch (action) {
+            case LOGIN:
+                return state == State.LOGGED_OUT ? "OK" : "ERROR";
+            case ACTION:
+            case LOGOUT:
+                return state == State.LOGGED_IN ? "OK" : "ERROR";
+            default:
+                throw new IllegalArgumentException("Unknown action: " + action);
+        }
+    }
+
+    /**
+     * @return состояние после действия
+     */
+    public static State next(State state, SessionAction action) {
+        if (!"OK".equals(expectedResult(state, action))) {
+            return state;
+        }
+        switch (action) {
+            case LOGIN:
+                return State.LOGGED_IN;
+            case LOGOUT:
+                return State.LOGGED_OUT;
+            default:
+                return state;
+        }
+    }
+
+    /**
+     * Ищет линеаризации истории одновременных операций.
+     *
+     * @param initial    возможные состояния токена перед историей
+     * @param operations операции в любом порядке
+     * @return все состояния, в которых токен может оказаться после истории;
+     * пустое множество, если история не линеаризуема
+     */
+    public static EnumSet<State> linearize(Set<State> initial, List<Operation> operations) {
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("History too long: " + operations.size() + " > " + MAX_OPERATIONS);
+        }
+        Search search = new Search(operations);
+        for (State state : initial) {
+            search.explore(0, state);
+        }
+        return search.finalStates;
+    }
+
+    /**
+     * Перебор порядков; {@code done} — маска уже линеаризованных операций.
+     */
+    private static final class Search {
+
+        private final Operation[] operations;
+        private final int all;
+        private final Set<Long> visited = new HashSet<>();
+        private final EnumSet<State> finalStates = EnumSet.noneOf(State.class);
+
+        Search(List<Operation> operations) {
+            this.operations = operations.toArray(new Operation[0]);
+            this.all = (1 << this.operations.length) - 1;
+        }
+
+        void explore(int done, State state) {
+            if (!visited.add((long) done << 1 | state.ordinal())) {
+                return;
+            }
+            if (done == all) {
+                finalStates.add(state);
+                return;
+            }
+
+            long deadline = Long.MAX_VALUE;
+            for (int i = 0; i < operations.length; i++) {
+                if ((done & 1 << i) == 0 && operations[i].hasResult()) {
+                    deadline = Math.min(deadline, operations[i].completedAt());
+                }
+            }
+
+            for (int i = 0; i < operations.length; i++) {
+                if ((done & 1 << i) != 0) {
+                    continue;
+                }
+                Operation operation = operations[i];
+                // Следующей может быть только операция, начатая до того, как завершилась
+                // любая из оставшихся: иначе та обязана идти раньше.
+                if (operation.invokedAt() > deadline) {
+                    continue;
+                }
+                int withOperation = done | 1 << i;
+                if (!operation.hasResult()) {
+                    explore(withOperation, state);
+                    explore(withOperation, next(state, operation.action()));
+                } else if (operation.result().equals(expectedResult(state, operation.action()))) {
+                    explore(withOperation, next(state, operation.action()));
+                }
+            }
+        }
+    }
+}
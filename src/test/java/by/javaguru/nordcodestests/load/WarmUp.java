@@ -0,0 +1,192 @@
+package by.javaguru.nordcodestests.load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Прогрев перед измеряемым окном {@link LoadRunner}.
+ * <p>
+ * Сразу после старта приложения латентность определяется JIT-компиляцией
+ * и установкой соединений, а не установившимся режимом. Прогрев выполняет
+ * сессии closed-модели с {@link LoadProfile#users()} пользователями, после
+ * чего статистика сбрасывается и начинается измеряемое окно.
+ * <p>
+ * Режимы:
+ * <ul>
+ *     <li>{@link #none()} — без прогрева;</li>
+ *     <li>{@link #sessions(long)} — фиксированное число сессий;</li>
+ *     <li>{@link #untilStable(Duration, int, double, Duration)} — пока пропускная
+ *     способность в последних {@code windows} окнах не перестанет отличаться
+ *     больше чем на {@code tolerance} от их среднего.</li>
+ * </ul>
+ * Системные свойства для {@link #fromSystemProperties()}:
+ * {@code load.warmup} — {@code none}, число сессий или {@code stable} (по умолчанию);
+ * {@code load.warmup.window} — длина окна в секундах (2);
+ * {@code load.warmup.windows} — сколько последних окон сравнивать (3);
+ * {@code load.warmup.tolerance} — допустимый разброс (0.10);
+ * {@code load.warmup.max} — предельная длительность прогрева в секундах (30).
+ */
+public final class WarmUp {
+
+    public enum Mode {
+        NONE,
+        SESSIONS,
+        STABLE
+    }
+
+    private static final Duration DEFAULT_MAX = Duration.ofSeconds(30);
+
+    private final Mode mode;
+    private final long sessions;
+    private final Duration window;
+    private final int windows;
+    private final double tolerance;
+    private final Duration maxDuration;
+
+    private WarmUp(Mode mode, long sessions, Duration window, int windows, double tolerance, Duration maxDuration) {
+        this.mode = mode;
+        this.sessions = sessions;
+        this.window = window;
+        this.windows = windows;
+        this.tolerance = tolerance;
+        this.maxDuration = maxDuration;
+    }
+
+    public static WarmUp none() {
+        return new WarmUp(Mode.NONE, 0, Duration.ZERO, 0, 0, Duration.ZERO);
+    }
+
+    /**
+     * Прогрев фиксированным числом сессий; не дольше 30 секунд.
+     */
+    public static WarmUp sessions(long sessions) {
+        if (sessions <= 0) {
+            throw new IllegalArgumentException("Warm-up sessions must be positive: " + sessions);
+        }
+        return new WarmUp(Mode.SESSIONS, sessions, Duration.ZERO, 0, 0, DEFAULT_MAX);
+    }
+
+    /**
+     * Прогрев до стабилизации пропускной способности.
+     *
+     * @param window      длина окна, по которому считается пропускная способность
+     * @param windows     сколько последних окон должны совпасть
+     * @param tolerance   допустимый разброс окон относительно их среднего, доля
+     * @param maxDuration предельная длительность прогрева
+     */
+    public static WarmUp untilStable(Duration window, int windows, double tolerance, Duration maxDuration) {
+        if (window.isZero() || window.isNegative() || windows < 2 || tolerance < 0) {
+            throw new IllegalArgumentException("Invalid warm-up: window " + window
+                    + ", windows " + windows + ", tolerance " + tolerance);
+        }
+        return new WarmUp(Mode.STABLE, 0, window, windows, tolerance, maxDuration);
+    }
+
+    public static WarmUp fromSystemProperties() {
+        String value = System.getProperty("load.warmup", "stable");
+        switch (value) {
+            case "none":
+            case "0":
+                return none();
+            case "stable":
+                return untilStable(
+                        Duration.ofSeconds(Integer.getInteger("load.warmup.window", 2)),
+                        Integer.getInteger("load.warmup.windows", 3),
+                        Double.parseDouble(System.getProperty("load.warmup.tolerance", "0.10")),
+                        Duration.ofSeconds(Integer.getInteger("load.warmup.max", (int) DEFAULT_MAX.toSeconds())));
+            default:
+                try {
+                    return sessions(Long.parseLong(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Unknown load.warmup: " + value, e);
+                }
+        }
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public long sessions() {
+        return sessions;
+    }
+
+    public Duration window() {
+        return window;
+    }
+
+    public Duration maxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * Проверяет, стабилизировалась ли пропускная способность.
+     *
+     * @param throughput пропускная способность по окнам в порядке измерения
+     */
+    public boolean isStable(List<Double> throughput) {
+        if (throughput.size() < windows) {
+            return false;
+        }
+        List<Double> last = throughput.subList(throughput.size() - windows, throughput.size());
+        double mean = last.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        double min = last.stream().mapToDouble(Double::doubleValue).min().orElse(0);
+        double max = last.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        return mean > 0 && max - mean <= mean * tolerance && mean - min <= mean * tolerance;
+    }
+
+    @Override
+    public String toString() {
+        switch (mode) {
+            case SESSIONS:
+                return sessions + " sessions";
+            case STABLE:
+                return String.format(Locale.ROOT, "until stable (%d x %d s windows within %.0f%%, max %d s)",
+                        windows, window.toSeconds(), tolerance * 100, maxDuration.toSeconds());
+            default:
+                return "none";
+        }
+    }
+
+    /**
+     * Итог прогрева.
+     *
+     * @param warmUp     настройки прогрева
+     * @param elapsed    длительность прогрева
+     * @param sessions   выполнено сессий
+     * @param completed  достигнуто ли условие прогрева (число сессий или стабилизация),
+     *                   а не предельная длительность
+     * @param throughput пропускная способность по окнам, сессий в секунду (для {@link Mode#STABLE})
+     */
+    public record Result(WarmUp warmUp, Duration elapsed, long sessions, boolean completed, List<Double> throughput) {
+
+        public static Result skipped() {
+            return new Result(none(), Duration.ZERO, 0, true, List.of());
+        }
+
+        /**
+         * Описывает точку стабилизации, например
+         * {@code stable after 8.0 s / 120 sessions; window sessions/s: 9.5, 14.0, 15.1, 14.8}.
+         */
+        public String format() {
+            if (warmUp.mode() == Mode.NONE) {
+                return "none";
+            }
+            String point = String.format(Locale.ROOT, "%.1f s / %d sessions", elapsed.toMillis() / 1000.0, sessions);
+            String summary;
+            if (warmUp.mode() == Mode.SESSIONS) {
+                summary = (completed ? "" : "stopped at time limit after ") + point;
+            } else {
+                summary = (completed ? "stable after " : "NOT stable after ") + point;
+            }
+            if (throughput.isEmpty()) {
+                return summary;
+            }
+            return summary + "; window sessions/s: " + throughput.stream()
+                    .map(value -> String.format(Locale.ROOT, "%.1f", value))
+                    .collect(Collectors.joining(", "));
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package by.javaguru.nordcodestests.tests;
 
 import by.javaguru.nordcodestests.api.ApiClient;
+import by.javaguru.nordcodestests.api.ApiResult;
 import by.javaguru.nordcodestests.base.TestBase;
 import by.javaguru.nordcodestests.utils.TokenGenerator;
+import by.javaguru.nordcodestests.wiremock.MockServer;
 import io.qameta.allure.Description;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
@@ -40,10 +42,10 @@ public class ActionTests extends TestBase {
         String token = TokenGenerator.generateToken();
 
         Response loginResponse = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("OK", loginResponse.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(loginResponse).result());
 
         Response actionResponse = ApiClient.sendRequest(token, "ACTION");
-        assertEquals("OK", actionResponse.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(actionResponse).result());
     }
 
     /**
@@ -61,7 +63,7 @@ public class ActionTests extends TestBase {
 
         Response actionResponse = ApiClient.sendRequest(token, "ACTION");
 
-        assertEquals("ERROR", actionResponse.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(actionResponse).result());
     }
 
     /**
@@ -75,17 +77,18 @@ public class ActionTests extends TestBase {
     @Test
     @Description("Ошибка внешнего сервиса /doAction. Даже при успешном LOGIN выполнение ACTION должно завершиться ERROR.")
     void testActionExternalServiceFail() {
-        stubFor(post("/doAction")
-                .willReturn(aResponse().withStatus(500)));
-
         String token = TokenGenerator.generateToken();
 
+        MockServer.stubFor(post("/doAction")
+                .withRequestBody(MockServer.forToken(token))
+                .willReturn(aResponse().withStatus(500)));
+
         Response loginResponse = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("OK", loginResponse.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(loginResponse).result());
 
         Response actionResponse = ApiClient.sendRequest(token, "ACTION");
 
-        assertEquals("ERROR", actionResponse.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(actionResponse).result());
     }
 
     /**
@@ -100,7 +103,7 @@ public class ActionTests extends TestBase {
     @Description("Отправка ACTION с токеном, содержащим недопустимые символы. Приложение должно вернуть ERROR на уровне валидации входных данных.")
     void testActionInvalidCharacters() {
         Response response = ApiClient.sendRequest("@@@###^^^", "ACTION");
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -118,9 +121,9 @@ public class ActionTests extends TestBase {
         String token = "BAD_TOKEN";
 
         Response login = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("ERROR", login.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(login).result());
 
         Response action = ApiClient.sendRequest(token, "ACTION");
-        assertEquals("ERROR", action.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(action).result());
     }
 }
@@ -0,0 +1,83 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.api.ApiResult;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты {@link ApiResult}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class ApiResultTests {
+
+    /**
+     * Проверяет чтение {@code result} и {@code message}, включая экранированные символы.
+     */
+    @Test
+    @Description("Поля result и message читаются из тела ответа, экранирование раскрывается")
+    void testResultAndMessage() {
+        ApiResult ok = decode("{\"result\":\"OK\"}");
+        assertEquals("OK", ok.result());
+        assertNull(ok.message());
+        assertTrue(ok.isOk());
+
+        ApiResult error = decode(
+                "{\"result\":\"ERROR\",\"message\":\"token: должно соответствовать \\\"^[0-9A-Z]{32}$\\\"\"}");
+        assertEquals("ERROR", error.result());
+        assertEquals("token: должно соответствовать \"^[0-9A-Z]{32}$\"", error.message());
+        assertFalse(error.isOk());
+    }
+
+    /**
+     * Проверяет, что посторонние поля, в том числе вложенные, пропускаются.
+     */
+    @Test
+    @Description("Вложенные объекты и массивы не мешают найти result и message в любом порядке")
+    void testSkipsOtherFields() {
+        ApiResult result = decode(
+                "{\"details\":{\"result\":\"nested\",\"list\":[1,{\"message\":\"x\"}]},"
+                        + "\"message\":\"m\",\"timestamp\":123,\"result\":\"ERROR\"}");
+
+        assertEquals("ERROR", result.result());
+        assertEquals("m", result.message());
+    }
+
+    /**
+     * Проверяет тела, в которых нет JSON-объекта.
+     */
+    @Test
+    @Description("Пустое тело, HTML-страница и JSON-массив дают пустой результат")
+    void testNotAnObject() {
+        assertEquals(ApiResult.EMPTY, decode(""));
+        assertEquals(ApiResult.EMPTY, decode("<html><body>Bad Gateway</body></html>"));
+        assertEquals(ApiResult.EMPTY, decode("[\"OK\"]"));
+        assertEquals(ApiResult.EMPTY, decode("{}"));
+    }
+
+    /**
+     * Проверяет разбор фрагмента массива и оборванное тело.
+     */
+    @Test
+    @Description("Разбирается только указанный фрагмент; оборванный объект приводит к ошибке")
+    void testSliceAndTruncated() {
+        byte[] buffer = "HTTP/1.1 200 OK\r\n\r\n{\"result\":\"OK\"}".getBytes(StandardCharsets.UTF_8);
+        int offset = buffer.length - "{\"result\":\"OK\"}".length();
+
+        assertEquals("OK", ApiResult.decode(buffer, offset, buffer.length - offset).result());
+
+        assertThrows(UncheckedIOException.class, () -> decode("{\"message\":\"m\",\"result\":\"O"));
+    }
+
+    private static ApiResult decode(String body) {
+        return ApiResult.decode(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,102 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.load.CapacitySearch;
+import by.javaguru.nordcodestests.load.LatencyStats;
+import by.javaguru.nordcodestests.load.LoadProfile;
+import by.javaguru.nordcodestests.load.LoadReport;
+import by.javaguru.nordcodestests.load.SessionAction;
+import by.javaguru.nordcodestests.load.WarmUp;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты {@link CapacitySearch}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class CapacitySearchTests {
+
+    private static final CapacitySearch.Slo SLO = new CapacitySearch.Slo(100, 0.01, 0.95);
+
+    /**
+     * Проверяет рост частоты до нарушения и двоичный поиск границы.
+     */
+    @Test
+    @Description("Сервис с пределом 300 сессий/с: поиск удваивает частоту, затем сходится к пределу снизу")
+    void testFindsKnee() throws InterruptedException {
+        List<Double> rates = new ArrayList<>();
+        CapacitySearch search = new CapacitySearch(10, 2, 5000, 0.05, 20);
+
+        CapacitySearch.Result result = search.search(SLO, rate -> {
+            rates.add(rate);
+            return report(rate, rate <= 300 ? 20 : 500, 0);
+        });
+
+        assertEquals(List.of(10.0, 20.0, 40.0, 80.0, 160.0, 320.0), rates.subList(0, 6));
+        assertTrue(result.limitFound());
+        assertTrue(result.sustainableRate() <= 300 && result.sustainableRate() >= 300 * 0.95 - 1,
+                result.format());
+        assertTrue(result.steps().stream().filter(step -> !step.passed()).allMatch(step -> step.rate() > 300),
+                result.format());
+    }
+
+    /**
+     * Проверяет каждое условие SLO по отдельности.
+     */
+    @Test
+    @Description("Ступень не выдержана при превышении p99, доли ошибок или недоборе пропускной способности")
+    void testSloViolations() {
+        assertTrue(SLO.check(100, report(100, 99, 0.01)).passed());
+
+        assertFalse(SLO.check(100, report(100, 101, 0)).passed());
+        assertFalse(SLO.check(100, report(100, 10, 0.02)).passed());
+        assertFalse(SLO.check(100, report(90, 10, 0)).passed());
+        assertTrue(SLO.check(100, report(90, 10, 0)).violation().startsWith("throughput"));
+    }
+
+    /**
+     * Проверяет поиск, когда сервис выдерживает верхнюю границу.
+     */
+    @Test
+    @Description("Если все ступени выдержаны, ёмкость равна верхней границе поиска и предел не найден")
+    void testUpperBoundReached() throws InterruptedException {
+        CapacitySearch.Result result = new CapacitySearch(100, 3, 500, 0.05, 20)
+                .search(SLO, rate -> report(rate, 1, 0));
+
+        assertFalse(result.limitFound());
+        assertEquals(500.0, result.sustainableRate());
+        assertEquals(3, result.steps().size(), result.format());
+    }
+
+    /**
+     * Отчёт одноминутного прогона: {@code sessionsPerSecond} сессий в секунду,
+     * у всех действий одинаковый p99 и доля ошибок.
+     */
+    private static LoadReport report(double sessionsPerSecond, double p99Ms, double errorRatio) {
+        Duration elapsed = Duration.ofMinutes(1);
+        long sessions = Math.round(sessionsPerSecond * elapsed.toSeconds());
+        long errors = Math.round(sessions * errorRatio);
+
+        Map<SessionAction, LatencyStats.Snapshot> actions = new EnumMap<>(SessionAction.class);
+        for (SessionAction action : SessionAction.values()) {
+            actions.put(action, new LatencyStats.Snapshot(sessions, errors, 1, 1, 1, p99Ms, p99Ms, p99Ms));
+        }
+        return new LoadReport(
+                LoadProfile.open(sessionsPerSecond, elapsed, 100),
+                elapsed,
+                sessions,
+                errors,
+                actions,
+                new LatencyStats.Snapshot(sessions, errors, 3, 3, 3, 3 * p99Ms, 3 * p99Ms, 3 * p99Ms),
+                WarmUp.Result.skipped());
+    }
+}
@@ -0,0 +1,91 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.base.TestBase;
+import by.javaguru.nordcodestests.load.ActionClients;
+import by.javaguru.nordcodestests.load.CapacitySearch;
+import by.javaguru.nordcodestests.load.LoadProfile;
+import by.javaguru.nordcodestests.load.LoadReport;
+import by.javaguru.nordcodestests.load.LoadRunner;
+import by.javaguru.nordcodestests.load.WarmUp;
+import by.javaguru.nordcodestests.utils.TokenStream;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Поиск ёмкости сервиса: наибольшей частоты сессий LOGIN → ACTION → LOGOUT
+ * на {@code /endpoint}, при которой выполняется SLO. Внешние {@code /auth}
+ * и {@code /doAction} отвечает {@code MockServer}.
+ * <p>
+ * Не входит в обычный прогон; запускается профилем {@code capacity}:
+ * <pre>
+ * mvn test -Pcapacity -Dcapacity.slo.p99.ms=100 -Dcapacity.max.rate=2000
+ * </pre>
+ * Параметры:
+ * <ul>
+ *     <li>{@code capacity.start.rate}, {@code capacity.growth}, {@code capacity.max.rate},
+ *     {@code capacity.precision}, {@code capacity.max.steps} — ход поиска, см. {@link CapacitySearch};</li>
+ *     <li>{@code capacity.slo.p99.ms}, {@code capacity.slo.errors}, {@code capacity.slo.throughput} —
+ *     SLO ступени, см. {@link CapacitySearch.Slo};</li>
+ *     <li>{@code capacity.step.duration} — длительность ступени в секундах (по умолчанию 20);</li>
+ *     <li>{@code capacity.cooldown} — пауза между ступенями в секундах (2), чтобы
+ *     хвост предыдущей ступени не попал в следующую;</li>
+ *     <li>{@code capacity.max.sessions} — максимум одновременных сессий open-модели (1000);</li>
+ *     <li>{@code load.client} — клиент, см. {@link ActionClients}; по умолчанию {@code async};</li>
+ *     <li>{@code load.warmup} — прогрев перед первой ступенью, см. {@link WarmUp}.</li>
+ * </ul>
+ * Отчёт со всеми ступенями и найденной частотой прикладывается к тесту в Allure,
+ * а ёмкость сохраняется параметром теста.
+ */
+@Tag("performance")
+@Tag("capacity")
+public class CapacityTests extends TestBase {
+
+    private static final Duration STEP_DURATION = Duration.ofSeconds(Integer.getInteger("capacity.step.duration", 20));
+    private static final Duration COOLDOWN = Duration.ofSeconds(Integer.getInteger("capacity.cooldown", 2));
+    private static final int MAX_SESSIONS = Integer.getInteger("capacity.max.sessions", 1000);
+    private static final ActionClients CLIENT = ActionClients.fromSystemProperty(ActionClients.ASYNC);
+
+    private static final TokenStream TOKENS = TokenStream.fromSystemProperty();
+
+    @Test
+    @Description("Ступенчатый рост частоты сессий и двоичный поиск наибольшей частоты в рамках SLO по p99 и ERROR")
+    void testFindSustainableRate() throws InterruptedException {
+        TOKENS.recordSeedInAllure();
+        LoadRunner runner = newRunner().warmingUp(WarmUp.fromSystemProperties());
+        CapacitySearch.Slo slo = CapacitySearch.Slo.fromSystemProperties();
+
+        CapacitySearch.Result result = CapacitySearch.fromSystemProperties().search(slo, new CapacitySearch.Step() {
+            private boolean first = true;
+
+            @Override
+            public LoadReport run(double sessionsPerSecond) throws InterruptedException {
+                if (!first) {
+                    Thread.sleep(COOLDOWN.toMillis());
+                }
+                LoadReport report = runner.run(LoadProfile.open(sessionsPerSecond, STEP_DURATION, MAX_SESSIONS));
+                if (first) {
+                    runner.warmingUp(WarmUp.none());
+                    first = false;
+                }
+                return report;
+            }
+        });
+
+        System.out.println(result.format());
+        result.attachToAllure("Capacity report");
+        Allure.parameter("sustainable sessions/s", String.format(Locale.ROOT, "%.1f", result.sustainableRate()));
+
+        assertTrue(result.sustainableRate() > 0, "No step met the SLO:\n" + result.format());
+    }
+
+    private static LoadRunner newRunner() {
+        return CLIENT.newRunner(TOKENS.perThread());
+    }
+}
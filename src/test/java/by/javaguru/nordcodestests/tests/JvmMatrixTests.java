@@ -0,0 +1,120 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.base.ApplicationProcess;
+import by.javaguru.nordcodestests.base.ProcessMemory;
+import by.javaguru.nordcodestests.base.TestBase;
+import by.javaguru.nordcodestests.load.ActionClients;
+import by.javaguru.nordcodestests.load.JvmComparison;
+import by.javaguru.nordcodestests.load.LoadProfile;
+import by.javaguru.nordcodestests.load.LoadReport;
+import by.javaguru.nordcodestests.load.LoadRunner;
+import by.javaguru.nordcodestests.load.WarmUp;
+import by.javaguru.nordcodestests.utils.TokenStream;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Один и тот же нагрузочный сценарий против приложения, запущенного
+ * с разными опциями JVM: сборщики мусора, размер кучи, уровни JIT, CDS.
+ * <p>
+ * Не входит в обычный прогон; запускается профилем {@code jvm-matrix}:
+ * <pre>
+ * mvn test -Pjvm-matrix -Djvm.matrix="-XX:+UseG1GC -Xmx256m;-XX:+UseZGC -Xmx256m"
+ * </pre>
+ * Параметры:
+ * <ul>
+ *     <li>{@code jvm.matrix} — наборы опций через {@code ;}; пустой набор означает
+ *     опции по умолчанию. Без свойства используется {@link #DEFAULT_MATRIX};</li>
+ *     <li>{@code matrix.users} — число пользователей closed-модели (по умолчанию 10);</li>
+ *     <li>{@code matrix.duration} — длительность сценария для каждого набора в секундах (20);</li>
+ *     <li>{@code load.client}, {@code load.warmup} — клиент ({@link ActionClients}) и прогрев, как в {@link LoadTests}.</li>
+ * </ul>
+ * Для каждого набора приложение запускается заново; после матрицы общий
+ * экземпляр приложения поднимается с исходными опциями. Таблица со временем
+ * старта, пропускной способностью, p95/p99 сессии и RSS прикладывается к тесту в Allure.
+ * Рядом со временем старта печатается режим AppCDS (см. {@link by.javaguru.nordcodestests.base.ClassDataSharing}):
+ * первый прогон набора записывает архив ({@code DUMP}), следующие стартуют
+ * с ним ({@code ARCHIVE}); для стабильного сравнения между прогонами архив
+ * отключается свойством {@code -Dapp.cds=false}.
+ * Набор, с которым JVM не стартует (например, сборщик недоступен на платформе),
+ * попадает в таблицу с причиной и не прерывает матрицу.
+ */
+@Tag("performance")
+@Tag("jvm-matrix")
+public class JvmMatrixTests extends TestBase {
+
+    static final String DEFAULT_MATRIX = String.join(";",
+            "",
+            "-XX:+UseSerialGC",
+            "-XX:+UseParallelGC",
+            "-XX:+UseG1GC -Xmx256m",
+            "-XX:+UseZGC -Xmx256m",
+            "-XX:TieredStopAtLevel=1",
+            "-Xshare:off");
+
+    private static final List<String> VARIANTS =
+            Arrays.asList(System.getProperty("jvm.matrix", DEFAULT_MATRIX).split(";", -1));
+    private static final int USERS = Integer.getInteger("matrix.users", 10);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("matrix.duration", 20));
+    private static final ActionClients CLIENT = ActionClients.fromSystemProperty(ActionClients.REST_ASSURED);
+    private static final WarmUp WARM_UP = WarmUp.fromSystemProperties();
+
+    private static final TokenStream TOKENS = TokenStream.fromSystemProperty();
+
+    @Test
+    @Description("Время старта, пропускная способность, хвосты латентности и RSS для каждого набора опций JVM")
+    void testJvmOptionsMatrix(ApplicationProcess application) throws IOException, InterruptedException {
+        TOKENS.recordSeedInAllure();
+        List<JvmComparison.Variant> variants = new ArrayList<>();
+
+        application.stop();
+        try {
+            for (String options : VARIANTS) {
+                JvmComparison.Variant variant = measure(options.trim());
+                System.out.println("JVM options [" + variant.options() + "]: "
+                        + (variant.succeeded() ? variant.load().sessionsPerSecond() + " sessions/s" : variant.error()));
+                variants.add(variant);
+            }
+        } finally {
+            application.start();
+        }
+
+        JvmComparison comparison = new JvmComparison(List.copyOf(variants));
+        System.out.println(comparison.format());
+        comparison.attachToAllure("JVM options matrix");
+
+        assertTrue(variants.stream().anyMatch(JvmComparison.Variant::succeeded), "No JVM option set could be measured");
+    }
+
+    private static JvmComparison.Variant measure(String options) throws InterruptedException {
+        try (ApplicationProcess application = new ApplicationProcess(ApplicationProcess.parseJvmOptions(options))) {
+            try {
+                application.start();
+            } catch (IOException | RuntimeException e) {
+                return JvmComparison.Variant.failed(options, null, null, String.valueOf(e.getMessage()));
+            }
+            ApplicationProcess.Startup startup = application.takeUnreportedStartup();
+            String cds = startup.cds().name();
+
+            LoadReport report = newRunner().run(LoadProfile.closed(USERS, DURATION));
+            if (report.completedSessions() == 0) {
+                return JvmComparison.Variant.failed(options, startup.startupTime(), cds, "No sessions completed");
+            }
+            long rss = ProcessMemory.sample(application.pid(), false).rss();
+            return new JvmComparison.Variant(options, startup.startupTime(), cds, report, rss, null);
+        }
+    }
+
+    private static LoadRunner newRunner() {
+        return CLIENT.newRunner(TOKENS.perThread()).warmingUp(WARM_UP);
+    }
+}
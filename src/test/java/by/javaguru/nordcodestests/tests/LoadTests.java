@@ -0,0 +1,134 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.api.PooledApiClient;
+import by.javaguru.nordcodestests.base.TestBase;
+import by.javaguru.nordcodestests.load.ActionClients;
+import by.javaguru.nordcodestests.load.LoadProfile;
+import by.javaguru.nordcodestests.load.LoadReport;
+import by.javaguru.nordcodestests.load.LoadRunner;
+import by.javaguru.nordcodestests.load.WarmUp;
+import by.javaguru.nordcodestests.utils.TokenStream;
+import by.javaguru.nordcodestests.wiremock.DownstreamProfile;
+import by.javaguru.nordcodestests.wiremock.MockServer;
+import by.javaguru.nordcodestests.wiremock.MockServer.Downstream;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Нагрузочные сценарии LOGIN → ACTION → LOGOUT на {@code /endpoint}.
+ * <p>
+ * Не входят в обычный прогон; запускаются профилем {@code load}:
+ * <pre>
+ * mvn test -Pload -Dload.users=20 -Dload.rate=100 -Dload.duration=60
+ * </pre>
+ * Параметры:
+ * <ul>
+ *     <li>{@code load.users} — число пользователей (closed) и максимум одновременных сессий (open);</li>
+ *     <li>{@code load.rate} — новых сессий в секунду для open-модели;</li>
+ *     <li>{@code load.duration} — длительность каждого сценария в секундах;</li>
+ *     <li>{@code load.client} — клиент, см. {@link ActionClients}; по умолчанию {@code rest-assured}.
+ *     Для {@code pooled} к отчёту добавляется статистика соединений {@link PooledApiClient};</li>
+ *     <li>{@code token.seed} — seed токенов; без него выбирается случайный.
+ *     Seed печатается в консоль и сохраняется параметром теста в Allure;</li>
+ *     <li>{@code load.downstream.median}, {@code load.downstream.sigma},
+ *     {@code load.downstream.errors}, {@code load.downstream.resets} — профиль
+ *     внешних сервисов для сценария с деградацией (медиана задержки в мс,
+ *     sigma логнормального распределения, доли ответов 503 и разрывов соединения).</li>
+ *     <li>{@code load.warmup} — прогрев перед измеряемым окном: {@code stable}
+ *     (по умолчанию, до стабилизации пропускной способности), число сессий или {@code none};
+ *     см. {@link WarmUp}.</li>
+ * </ul>
+ * Отчёт с пропускной способностью и перцентилями латентности
+ * прикладывается к тесту в Allure.
+ */
+@Tag("performance")
+@Tag("load")
+public class LoadTests extends TestBase {
+
+    private static final int USERS = Integer.getInteger("load.users", 10);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "50"));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration", 30));
+    private static final ActionClients CLIENT = ActionClients.fromSystemProperty(ActionClients.REST_ASSURED);
+    private static final WarmUp WARM_UP = WarmUp.fromSystemProperties();
+
+    private static final DownstreamProfile DEGRADED = DownstreamProfile.healthy()
+            .withLogNormalLatency(
+                    Duration.ofMillis(Integer.getInteger("load.downstream.median", 50)),
+                    Double.parseDouble(System.getProperty("load.downstream.sigma", "0.5")))
+            .withErrorRate(Double.parseDouble(System.getProperty("load.downstream.errors", "0.02")), 503)
+            .withResetRate(Double.parseDouble(System.getProperty("load.downstream.resets", "0.01")));
+
+    /**
+     * Общий корень для всех сценариев класса: сценарии получают разные
+     * потоки токенов и не пересекаются в хранилище сервиса.
+     */
+    private static final TokenStream TOKENS = TokenStream.fromSystemProperty();
+
+    /**
+     * Фиксированное число пользователей выполняет сессии без пауз.
+     */
+    @Test
+    @Description("Closed-модель: фиксированное число пользователей выполняет LOGIN → ACTION → LOGOUT без пауз")
+    void testClosedModel() throws InterruptedException {
+        LoadReport report = newRunner().run(LoadProfile.closed(USERS, DURATION));
+
+        publish(report);
+    }
+
+    /**
+     * Новые сессии стартуют с фиксированной частотой.
+     */
+    @Test
+    @Description("Open-модель: новые сессии LOGIN → ACTION → LOGOUT стартуют с фиксированной частотой")
+    void testOpenModel() throws InterruptedException {
+        LoadReport report = newRunner().run(LoadProfile.open(RATE, DURATION, USERS));
+
+        publish(report);
+    }
+
+    /**
+     * Closed-модель при медленных и нестабильных внешних сервисах:
+     * показывает, как деградируют латентность и пропускная способность сервиса.
+     */
+    @Test
+    @Description("Closed-модель при логнормальной задержке и частичных отказах /auth и /doAction")
+    void testDegradedDownstream() throws InterruptedException {
+        assumeTrue(MockServer.BACKEND == MockServer.Backend.WIREMOCK, "Downstream profiles require mock.backend=wiremock");
+
+        MockServer.applyProfile(Downstream.AUTH, DEGRADED);
+        MockServer.applyProfile(Downstream.DO_ACTION, DEGRADED);
+        Allure.parameter("downstream", DEGRADED.toString());
+        System.out.println("Downstream profile: " + DEGRADED);
+
+        LoadReport report = newRunner().run(LoadProfile.closed(USERS, DURATION));
+
+        publish(report);
+    }
+
+    private static LoadRunner newRunner() {
+        TOKENS.recordSeedInAllure();
+        if (CLIENT.isPooled()) {
+            PooledApiClient.shared().resetStats();
+        }
+        return CLIENT.newRunner(TOKENS.perThread()).warmingUp(WARM_UP);
+    }
+
+    private static void publish(LoadReport report) {
+        System.out.println(report.format());
+        report.attachToAllure("Load report");
+        if (CLIENT.isPooled()) {
+            String connections = PooledApiClient.shared().stats().format();
+            System.out.println("Connections (including warm-up): " + connections);
+            Allure.addAttachment("Connection pool", "text/plain", connections, ".txt");
+        }
+
+        assertTrue(report.completedSessions() > 0, "No sessions completed");
+    }
+}
@@ -1,8 +1,12 @@
 package by.javaguru.nordcodestests.tests;
 
 import by.javaguru.nordcodestests.api.ApiClient;
+import by.javaguru.nordcodestests.api.ApiResult;
+import by.javaguru.nordcodestests.base.ApplicationLifecycle;
+import by.javaguru.nordcodestests.base.ApplicationLifecycle.Lifecycle;
 import by.javaguru.nordcodestests.base.TestBase;
 import by.javaguru.nordcodestests.utils.TokenGenerator;
+import by.javaguru.nordcodestests.wiremock.MockServer;
 import io.qameta.allure.Description;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
@@ -34,7 +38,7 @@ public class LoginTests extends TestBase {
 
         Response response = ApiClient.sendRequest(token, "LOGIN");
 
-        assertEquals("OK", response.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(response).result());
     }
 
     /**
@@ -56,7 +60,7 @@ public class LoginTests extends TestBase {
                         .then()
                         .extract().response();
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -69,7 +73,7 @@ public class LoginTests extends TestBase {
 
         Response response = ApiClient.sendRequest(token, "LOGIN");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -78,14 +82,15 @@ public class LoginTests extends TestBase {
     @Test
     @Description("Если внешний сервис /auth возвращает ошибку — должен быть ERROR")
     void testLoginExternalServiceFail() {
-        stubFor(post("/auth")
-                .willReturn(aResponse().withStatus(401)));
-
         String token = TokenGenerator.generateToken();
 
+        MockServer.stubFor(post("/auth")
+                .withRequestBody(MockServer.forToken(token))
+                .willReturn(aResponse().withStatus(401)));
+
         Response response = ApiClient.sendRequest(token, "LOGIN");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -97,10 +102,10 @@ public class LoginTests extends TestBase {
         String token = TokenGenerator.generateToken();
 
         Response first = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("OK", first.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(first).result());
 
         Response second = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("ERROR", second.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(second).result());
     }
 
     /**
@@ -120,20 +125,24 @@ public class LoginTests extends TestBase {
                         .then()
                         .extract().response();
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
      * Граничное значение: валидный токен длиной 32 символа,
      * состоящий из одинаковых символов — должен быть LOGIN OK.
+     * <p>
+     * Токен фиксированный, а не из {@link TokenGenerator}, поэтому тесту
+     * требуется чистое хранилище токенов — приложение перезапускается.
      */
     @Test
+    @ApplicationLifecycle(Lifecycle.PER_TEST)
     @Description("Граница: токен из одинаковых символов (32×A) — ожидаем LOGIN OK")
     void testTokenAllSameChar() {
         String token = "A".repeat(32);
 
         Response response = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("OK", response.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(response).result());
 
         ApiClient.sendRequest(token, "LOGOUT");
     }
@@ -151,10 +160,10 @@ public class LoginTests extends TestBase {
 
         Response response = ApiClient.sendRequest(token, "LOGIN");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
         assertEquals(
                 "token: должно соответствовать \"^[0-9A-Z]{32}$\"",
-                response.jsonPath().getString("message")
+                ApiResult.of(response).message()
         );
 
         ApiClient.sendRequest(token, "LOGOUT");
@@ -1,6 +1,7 @@
 package by.javaguru.nordcodestests.tests;
 
 import by.javaguru.nordcodestests.api.ApiClient;
+import by.javaguru.nordcodestests.api.ApiResult;
 import by.javaguru.nordcodestests.base.TestBase;
 import by.javaguru.nordcodestests.utils.TokenGenerator;
 import io.qameta.allure.Description;
@@ -29,10 +30,10 @@ public class LogoutTests extends TestBase {
         String token = TokenGenerator.generateToken();
 
         Response login = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("OK", login.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(login).result());
 
         Response logout = ApiClient.sendRequest(token, "LOGOUT");
-        assertEquals("OK", logout.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(logout).result());
     }
 
     /**
@@ -45,7 +46,7 @@ public class LogoutTests extends TestBase {
 
         Response logout = ApiClient.sendRequest(token, "LOGOUT");
 
-        assertEquals("ERROR", logout.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(logout).result());
     }
 
     /**
@@ -58,13 +59,13 @@ public class LogoutTests extends TestBase {
         String token = TokenGenerator.generateToken();
 
         Response login = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("OK", login.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(login).result());
 
         Response logout = ApiClient.sendRequest(token, "LOGOUT");
-        assertEquals("OK", logout.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(logout).result());
 
         Response action = ApiClient.sendRequest(token, "ACTION");
-        assertEquals("ERROR", action.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(action).result());
     }
 
     /**
@@ -76,12 +77,12 @@ public class LogoutTests extends TestBase {
         String token = TokenGenerator.generateToken();
 
         Response login = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("OK", login.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(login).result());
 
         Response logout1 = ApiClient.sendRequest(token, "LOGOUT");
-        assertEquals("OK", logout1.jsonPath().getString("result"));
+        assertEquals("OK", ApiResult.of(logout1).result());
 
         Response logout2 = ApiClient.sendRequest(token, "LOGOUT");
-        assertEquals("ERROR", logout2.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(logout2).result());
     }
 }
@@ -1,15 +1,25 @@
 package by.javaguru.nordcodestests.tests;
 
 import by.javaguru.nordcodestests.api.ApiClient;
+import by.javaguru.nordcodestests.api.ApiResult;
+import by.javaguru.nordcodestests.api.Endpoints;
 import by.javaguru.nordcodestests.base.TestBase;
 import by.javaguru.nordcodestests.utils.TokenGenerator;
+import by.javaguru.nordcodestests.wiremock.DownstreamProfile;
+import by.javaguru.nordcodestests.wiremock.MockServer;
+import by.javaguru.nordcodestests.wiremock.MockServer.Downstream;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Description;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.Instant;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Набор негативных тестов, проверяющих обработку ошибок API:
@@ -30,9 +40,9 @@ public class NegativeTests extends TestBase {
                 .contentType("application/x-www-form-urlencoded")
                 .formParam("token", token)
                 .formParam("action", "LOGIN")
-                .post("http://localhost:8080/endpoint");
+                .post(Endpoints.MAIN);
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -48,9 +58,9 @@ public class NegativeTests extends TestBase {
                 .header("X-Api-Key", "INVALID")
                 .formParam("token", token)
                 .formParam("action", "LOGIN")
-                .post("http://localhost:8080/endpoint");
+                .post(Endpoints.MAIN);
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -61,7 +71,7 @@ public class NegativeTests extends TestBase {
     void testShortToken() {
         Response response = ApiClient.sendRequest("ABC123", "LOGIN");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -72,7 +82,7 @@ public class NegativeTests extends TestBase {
     void testTokenWithSpecialChars() {
         Response response = ApiClient.sendRequest("INVALID_TOKEN_@@@@_123456", "LOGIN");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -85,7 +95,7 @@ public class NegativeTests extends TestBase {
 
         Response response = ApiClient.sendRequest(token, "UNKNOWN_ACTION");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -98,7 +108,7 @@ public class NegativeTests extends TestBase {
 
         Response response = ApiClient.sendRequest(token, "");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -109,7 +119,7 @@ public class NegativeTests extends TestBase {
     void testEmptyToken() {
         Response response = ApiClient.sendRequest("", "LOGIN");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -122,7 +132,7 @@ public class NegativeTests extends TestBase {
 
         Response response = ApiClient.sendRequestWithMock(token, "LOGIN", "/auth-fail");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -137,23 +147,49 @@ public class NegativeTests extends TestBase {
 
         Response response = ApiClient.sendRequestWithMock(token, "ACTION", "/doAction-fail");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
      * Проверяет реакцию API на зависание внешнего сервиса.
+     * <p>
+     * Мок не отвечает {@link DownstreamProfile#HANG}, но тест длится ровно
+     * столько, сколько ждёт само приложение: его фактический таймаут
+     * вычисляется по журналу WireMock и сохраняется параметром в Allure.
      */
     @Test
     @Description("/auth зависает → LOGIN должен вернуть ERROR")
     void testExternalTimeout() {
-        stubFor(post("/auth")
-                .willReturn(aResponse()
-                        .withFixedDelay(10000)));
+        String token = TokenGenerator.generateToken();
+
+        MockServer.applyProfile(Downstream.AUTH, DownstreamProfile.hanging(), token);
+
+        Response response = ApiClient.sendRequest(token, "LOGIN");
+        Instant respondedAt = Instant.now();
+        assertEquals("ERROR", ApiResult.of(response).result());
+
+        Instant calledAt = MockServer.firstRequestAt(Downstream.AUTH, token)
+                .orElseThrow(() -> new AssertionError("Application did not call /auth"));
+        Duration serviceTimeout = Duration.between(calledAt, respondedAt);
 
+        System.out.println("Service timeout for /auth: " + serviceTimeout.toMillis() + " ms");
+        Allure.parameter("service timeout, ms", serviceTimeout.toMillis());
+        assertTrue(serviceTimeout.compareTo(DownstreamProfile.HANG) < 0,
+                "Application waited for the whole downstream delay: " + serviceTimeout);
+    }
+
+    /**
+     * Проверяет реакцию API на разрыв соединения внешним сервисом.
+     */
+    @Test
+    @Description("/auth разрывает соединение → LOGIN должен вернуть ERROR")
+    void testExternalConnectionReset() {
         String token = TokenGenerator.generateToken();
 
+        MockServer.applyProfile(Downstream.AUTH, DownstreamProfile.healthy().withResetRate(1.0), token);
+
         Response response = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -165,7 +201,7 @@ public class NegativeTests extends TestBase {
         String token = "A".repeat(33);
 
         Response response = ApiClient.sendRequest(token, "LOGIN");
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
 
         ApiClient.sendRequest(token, "LOGOUT");
     }
@@ -186,7 +222,7 @@ public class NegativeTests extends TestBase {
                         .formParam("action", "LOGIN")
                         .post("/endpoint");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 
     /**
@@ -204,6 +240,6 @@ public class NegativeTests extends TestBase {
                         .formParam("action", "LOGIN")
                         .post("/endpoint");
 
-        assertEquals("ERROR", response.jsonPath().getString("result"));
+        assertEquals("ERROR", ApiResult.of(response).result());
     }
 }
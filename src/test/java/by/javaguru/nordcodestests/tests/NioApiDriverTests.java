@@ -0,0 +1,234 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.api.NioApiDriver;
+import by.javaguru.nordcodestests.wiremock.NioStubServer;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты {@link NioApiDriver}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class NioApiDriverTests {
+
+    private static final String TOKEN = "0123456789ABCDEF0123456789ABCDEF";
+
+    /**
+     * Проверяет конвейерные запросы по нескольким соединениям.
+     */
+    @Test
+    @Description("Запросов больше, чем мест в конвейерах: все получают ответ 200 с result = OK")
+    void testPipelinedRequests() throws Exception {
+        try (NioStubServer server = new NioStubServer(0).start();
+             NioApiDriver driver = new NioApiDriver(
+                     new InetSocketAddress("localhost", server.port()), "/auth", 2, 4).start()) {
+
+            List<CompletableFuture<NioApiDriver.Reply>> replies = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                replies.add(driver.send(i % 2 == 0 ? TOKEN : "short token", "LOGIN"));
+            }
+
+            for (CompletableFuture<NioApiDriver.Reply> reply : replies) {
+                assertEquals(new NioApiDriver.Reply(200, "OK"), reply.get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    /**
+     * Проверяет сериализацию запроса и разбор ответа с {@code Transfer-Encoding: chunked},
+     * пришедшего несколькими пакетами.
+     */
+    @Test
+    @Description("Тело формы и заголовки запроса корректны; chunked-ответ по частям разбирается в status и result")
+    void testChunkedResponse() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0);
+             NioApiDriver driver = new NioApiDriver(
+                     new InetSocketAddress("localhost", serverSocket.getLocalPort()), "/endpoint", 1, 1).start()) {
+
+            CompletableFuture<NioApiDriver.Reply> reply = driver.send(TOKEN, "ACTION");
+
+            try (Socket socket = serverSocket.accept()) {
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                assertEquals("POST /endpoint HTTP/1.1", reader.readLine());
+
+                int contentLength = -1;
+                String line;
+                while (!(line = reader.readLine()).isEmpty()) {
+                    if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                        contentLength = Integer.parseInt(line.substring(15).trim());
+                    }
+                }
+                char[] body = new char[contentLength];
+                int read = 0;
+                while (read < contentLength) {
+                    read += reader.read(body, read, contentLength - read);
+                }
+                assertEquals("token=" + TOKEN + "&action=ACTION", new String(body));
+
+                OutputStream out = socket.getOutputStream();
+                out.write(("HTTP/1.1 400 \r\n"
+                        + "Content-Type: application/json\r\n"
+                        + "Transfer-Encoding: chunked\r\n"
+                        + "\r\n"
+                        + "a\r\n{\"result\":\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                Thread.sleep(50);
+                out.write(("18\r\n\"ERROR\",\"message\":\"bad\"}\r\n0\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+
+                assertEquals(new NioApiDriver.Reply(400, "ERROR"), reply.get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что обрыв соединения завершает запрос в полёте исключением.
+     */
+    @Test
+    @Description("Если сервер закрывает соединение без ответа, future запроса завершается исключением")
+    void testConnectionClosed() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0);
+             NioApiDriver driver = new NioApiDriver(
+                     new InetSocketAddress("localhost", serverSocket.getLocalPort()), "/endpoint", 1, 1).start()) {
+
+            CompletableFuture<NioApiDriver.Reply> reply = driver.send(TOKEN, "LOGIN");
+            serverSocket.accept().close();
+
+            CompletionException error = assertThrows(CompletionException.class,
+                    () -> reply.orTimeout(10, TimeUnit.SECONDS).join());
+            assertTrue(error.getCause() instanceof IOException, "Unexpected cause: " + error.getCause());
+        }
+    }
+
+    /**
+     * Проверяет повтор конвейерных запросов после ответа {@code Connection: close}.
+     */
+    @Test
+    @Description("Сервер отвечает на первый из трёх конвейерных запросов с Connection: close; остальные уходят по новому соединению")
+    void testConnectionCloseRequeuesPipelinedRequests() throws Exception {
+        String[] tokens = {TOKEN, TOKEN.replace('0', 'X'), TOKEN.replace('1', 'Y')};
+        try (ServerSocket serverSocket = new ServerSocket(0);
+             NioApiDriver driver = new NioApiDriver(
+                     new InetSocketAddress("localhost", serverSocket.getLocalPort()), "/endpoint", 1, 3).start()) {
+
+            List<CompletableFuture<NioApiDriver.Reply>> replies = new ArrayList<>();
+            for (String token : tokens) {
+                replies.add(driver.send(token, "LOGIN"));
+            }
+
+            try (Socket socket = serverSocket.accept()) {
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                assertEquals("token=" + tokens[0] + "&action=LOGIN", readRequestBody(reader));
+
+                OutputStream out = socket.getOutputStream();
+                out.write(response("Connection: close\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                socket.shutdownOutput();
+                // Остальные запросы сервер не обрабатывает; ждём, пока клиент закроет соединение
+                while (reader.readLine() != null) {
+                }
+            }
+            assertEquals(new NioApiDriver.Reply(200, "OK"), replies.get(0).get(10, TimeUnit.SECONDS));
+
+            try (Socket socket = serverSocket.accept()) {
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                OutputStream out = socket.getOutputStream();
+                for (int i = 1; i < tokens.length; i++) {
+                    assertEquals("token=" + tokens[i] + "&action=LOGIN", readRequestBody(reader));
+                    out.write(response("").getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                }
+
+                for (CompletableFuture<NioApiDriver.Reply> reply : replies) {
+                    assertEquals(new NioApiDriver.Reply(200, "OK"), reply.get(10, TimeUnit.SECONDS));
+                }
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что некорректное тело ответа не останавливает поток-селектор.
+     */
+    @Test
+    @Description("Обрезанный JSON завершает исключением только свой запрос; следующий запрос выполняется")
+    void testMalformedBodyFailsOnlyItsRequest() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0);
+             NioApiDriver driver = new NioApiDriver(
+                     new InetSocketAddress("localhost", serverSocket.getLocalPort()), "/endpoint", 1, 1).start()) {
+
+            CompletableFuture<NioApiDriver.Reply> broken = driver.send(TOKEN, "LOGIN");
+            try (Socket socket = serverSocket.accept()) {
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                readRequestBody(reader);
+                String truncated = "{\"result\":\"O";
+                socket.getOutputStream().write(("HTTP/1.1 200 OK\r\n"
+                        + "Content-Length: " + truncated.length() + "\r\n"
+                        + "\r\n"
+                        + truncated).getBytes(StandardCharsets.US_ASCII));
+                socket.getOutputStream().flush();
+
+                assertThrows(CompletionException.class, () -> broken.orTimeout(10, TimeUnit.SECONDS).join());
+            }
+
+            CompletableFuture<NioApiDriver.Reply> next = driver.send(TOKEN, "ACTION");
+            try (Socket socket = serverSocket.accept()) {
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                assertEquals("token=" + TOKEN + "&action=ACTION", readRequestBody(reader));
+                socket.getOutputStream().write(response("").getBytes(StandardCharsets.US_ASCII));
+                socket.getOutputStream().flush();
+
+                assertEquals(new NioApiDriver.Reply(200, "OK"), next.get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    private static String response(String headers) {
+        String body = "{\"result\":\"OK\"}";
+        return "HTTP/1.1 200 OK\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + body.length() + "\r\n"
+                + headers
+                + "\r\n"
+                + body;
+    }
+
+    private static String readRequestBody(BufferedReader reader) throws IOException {
+        assertTrue(reader.readLine().startsWith("POST "));
+        int contentLength = -1;
+        String line;
+        while (!(line = reader.readLine()).isEmpty()) {
+            if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                contentLength = Integer.parseInt(line.substring(15).trim());
+            }
+        }
+        char[] body = new char[contentLength];
+        int read = 0;
+        while (read < contentLength) {
+            read += reader.read(body, read, contentLength - read);
+        }
+        return new String(body);
+    }
+}
@@ -0,0 +1,144 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.wiremock.NioStubServer;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты {@link NioStubServer}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class NioStubServerTests {
+
+    private static final String BODY = "token=0123456789ABCDEF0123456789ABCDEF";
+
+    /**
+     * Проверяет ответы на конвейерные запросы в одном соединении.
+     */
+    @Test
+    @Description("Три запроса, отправленные одним пакетом по keep-alive соединению, получают три ответа по порядку")
+    void testPipelinedRequests() throws IOException {
+        try (NioStubServer server = new NioStubServer(0).start();
+             Socket socket = new Socket("localhost", server.port())) {
+
+            String requests = request("/auth", false) + request("/unknown", false) + request("/doAction", true);
+            OutputStream out = socket.getOutputStream();
+            out.write(requests.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+
+            assertEquals("{\"result\":\"OK\"}", readResponse(reader, "HTTP/1.1 200 OK"));
+            assertEquals("", readResponse(reader, "HTTP/1.1 404 Not Found"));
+            assertEquals("{\"result\":\"OK\"}", readResponse(reader, "HTTP/1.1 200 OK"));
+            assertNull(reader.readLine(), "Connection: close must close the connection");
+        }
+    }
+
+    /**
+     * Проверяет, что некорректный Content-Length закрывает только своё соединение.
+     */
+    @Test
+    @Description("На нечисловой и слишком большой Content-Length сервер отвечает 400 и продолжает обслуживать другие соединения")
+    void testBadContentLength() throws IOException {
+        try (NioStubServer server = new NioStubServer(0).start()) {
+            for (String contentLength : new String[]{"abc", "99999999999999999999"}) {
+                try (Socket socket = new Socket("localhost", server.port())) {
+                    OutputStream out = socket.getOutputStream();
+                    out.write(("POST /auth HTTP/1.1\r\n"
+                            + "Host: localhost\r\n"
+                            + "Content-Length: " + contentLength + "\r\n"
+                            + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+
+                    BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                    assertEquals("", readResponse(reader, "HTTP/1.1 400 Bad Request"));
+                    assertNull(reader.readLine(), "Malformed request must close the connection");
+                }
+            }
+
+            try (Socket socket = new Socket("localhost", server.port())) {
+                OutputStream out = socket.getOutputStream();
+                out.write(request("/auth", true).getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                assertEquals("{\"result\":\"OK\"}", readResponse(reader, "HTTP/1.1 200 OK"));
+            }
+            assertTrue(server.isRunning());
+        }
+    }
+
+    /**
+     * Проверяет, что chunked-тело не разбирается как следующий конвейерный запрос.
+     */
+    @Test
+    @Description("На запрос с Transfer-Encoding: chunked сервер отвечает 400 и закрывает соединение")
+    void testChunkedBodyRejected() throws IOException {
+        try (NioStubServer server = new NioStubServer(0).start();
+             Socket socket = new Socket("localhost", server.port())) {
+
+            // Без отказа чанк с вложенным запросом получил бы второй ответ 200
+            String chunk = request("/auth", false);
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /doAction HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "Transfer-Encoding: chunked\r\n"
+                    + "\r\n"
+                    + Integer.toHexString(chunk.length()) + "\r\n"
+                    + chunk + "\r\n"
+                    + "0\r\n"
+                    + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            assertEquals("", readResponse(reader, "HTTP/1.1 400 Bad Request"));
+            assertNull(reader.readLine(), "Chunked request must close the connection");
+            assertTrue(server.isRunning());
+        }
+    }
+
+    private static String request(String path, boolean close) {
+        return "POST " + path + " HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Content-Type: application/x-www-form-urlencoded\r\n"
+                + "Content-Length: " + BODY.length() + "\r\n"
+                + (close ? "Connection: close\r\n" : "")
+                + "\r\n"
+                + BODY;
+    }
+
+    private static String readResponse(BufferedReader reader, String expectedStatus) throws IOException {
+        assertEquals(expectedStatus, reader.readLine());
+
+        int contentLength = -1;
+        String line;
+        while (!(line = reader.readLine()).isEmpty()) {
+            if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                contentLength = Integer.parseInt(line.substring(15).trim());
+            }
+        }
+
+        char[] body = new char[contentLength];
+        int read = 0;
+        while (read < contentLength) {
+            read += reader.read(body, read, contentLength - read);
+        }
+        return new String(body);
+    }
+}
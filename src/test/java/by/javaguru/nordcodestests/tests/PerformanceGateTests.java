@@ -0,0 +1,89 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.base.TestBase;
+import by.javaguru.nordcodestests.load.ActionClient;
+import by.javaguru.nordcodestests.load.LoadProfile;
+import by.javaguru.nordcodestests.load.LoadReport;
+import by.javaguru.nordcodestests.load.LoadRunner;
+import by.javaguru.nordcodestests.load.PerformanceBaseline;
+import by.javaguru.nordcodestests.load.RegressionGate;
+import by.javaguru.nordcodestests.load.WarmUp;
+import by.javaguru.nordcodestests.utils.TokenStream;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка производительности новой сборки приложения относительно эталона.
+ * <p>
+ * Запускается профилем {@code perf-gate}:
+ * <pre>
+ * mvn test -Pperf-gate [-Dgate.baseline=perf/baseline.json] [-Dgate.update=true]
+ * </pre>
+ * Фиксированный сценарий — closed-модель LOGIN → ACTION → LOGOUT через
+ * {@code ApiClient}: {@code gate.users} пользователей (по умолчанию 10)
+ * в течение {@code gate.duration} секунд (по умолчанию 30) после прогрева
+ * ({@code load.warmup}, см. {@link WarmUp}).
+ * <p>
+ * Результат сравнивается с эталоном из {@code gate.baseline} по правилам
+ * {@link RegressionGate}; таблица сравнения прикладывается к тесту в Allure.
+ * С {@code -Dgate.update=true} эталон записывается текущими результатами
+ * вместо сравнения. Без эталона и без {@code -Dgate.update=true} тест падает:
+ * иначе проверка молча пропускалась бы в каждом чистом checkout.
+ */
+@Tag("performance")
+@Tag("gate")
+public class PerformanceGateTests extends TestBase {
+
+    private static final int USERS = Integer.getInteger("gate.users", 10);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("gate.duration", 30));
+    private static final Path BASELINE = Path.of(System.getProperty("gate.baseline", "perf/baseline.json"));
+    private static final boolean UPDATE = Boolean.getBoolean("gate.update");
+
+    private static final TokenStream TOKENS = TokenStream.fromSystemProperty();
+
+    @Test
+    @Description("p95 действий и пропускная способность не хуже эталона с учётом допусков")
+    void testNoRegressionAgainstBaseline() throws InterruptedException, IOException {
+        TOKENS.recordSeedInAllure();
+        LoadReport report = new LoadRunner(ActionClient.restAssured(), TOKENS.perThread())
+                .warmingUp(WarmUp.fromSystemProperties())
+                .run(LoadProfile.closed(USERS, DURATION));
+        System.out.println(report.format());
+        report.attachToAllure("Load report");
+        assertTrue(report.completedSessions() > 0, "No sessions completed");
+
+        PerformanceBaseline current = PerformanceBaseline.from(report);
+        Allure.parameter("baseline", BASELINE.toAbsolutePath().toString());
+
+        if (UPDATE) {
+            assertEquals(0, report.failedSessions(), "Baseline must not be recorded from a run with failed sessions");
+            current.write(BASELINE);
+            System.out.println("Performance baseline written to " + BASELINE.toAbsolutePath());
+            Allure.addAttachment("Performance baseline", "application/json", Files.readString(BASELINE), ".json");
+            return;
+        }
+        assertTrue(Files.exists(BASELINE),
+                "No baseline at " + BASELINE.toAbsolutePath() + ": record it with -Dgate.update=true");
+
+        PerformanceBaseline baseline = PerformanceBaseline.read(BASELINE);
+        RegressionGate.Result result = RegressionGate.fromSystemProperties().compare(baseline, current);
+
+        String table = "Baseline: " + baseline.profile() + ", recorded " + baseline.recordedAt() + "\n"
+                + "Current:  " + current.profile() + "\n\n"
+                + result.format();
+        System.out.println(table);
+        Allure.addAttachment("Performance gate", "text/plain", table, ".txt");
+
+        assertTrue(result.passed(), "Performance regression against " + BASELINE + ":\n" + table);
+    }
+}
@@ -0,0 +1,97 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.api.PooledApiClient;
+import by.javaguru.nordcodestests.wiremock.NioStubServer;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты {@link PooledApiClient}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class PooledApiClientTests {
+
+    private static final String TOKEN = "0123456789ABCDEFabcdefghijKLMNOP";
+
+    /**
+     * Проверяет тело, собранное из шаблона.
+     */
+    @Test
+    @Description("Тело из шаблона побайтно совпадает с URL-кодированной формой; шаблон не портится между вызовами")
+    void testTemplateBody() {
+        assertTrue(PooledApiClient.isTemplateToken(TOKEN));
+
+        for (String action : new String[]{"LOGIN", "ACTION", "LOGOUT", "LOGIN"}) {
+            assertArrayEquals(encoded(TOKEN, action), PooledApiClient.formBody(TOKEN, action));
+        }
+        String other = "ZYXWVUTSRQPONMLKJIHGFEDCBA987654";
+        assertArrayEquals(encoded(other, "LOGIN"), PooledApiClient.formBody(other, "LOGIN"));
+        assertArrayEquals(encoded(TOKEN, "LOGIN"), PooledApiClient.formBody(TOKEN, "LOGIN"));
+    }
+
+    /**
+     * Проверяет токены, которые не вписываются в шаблон.
+     */
+    @Test
+    @Description("Короткий, длинный и содержащий спецсимволы токен кодируются обычным путём")
+    void testNonTemplateFallback() {
+        String[] tokens = {
+                "",
+                "short",
+                TOKEN + "0",
+                "0123456789ABCDEF0123456789ABCD+/",
+                "0123456789ABCDEF0123456789ABCD&=",
+                "0123456789ABCDEF0123456789ABCDЖ "
+        };
+        for (String token : tokens) {
+            assertFalse(PooledApiClient.isTemplateToken(token), token);
+            assertArrayEquals(encoded(token, "ACTION"), PooledApiClient.formBody(token, "ACTION"), token);
+        }
+    }
+
+    /**
+     * Проверяет переиспользование соединения и счётчики сокетов.
+     */
+    @Test
+    @Description("Последовательные запросы идут по одному keep-alive соединению; счётчики открытых и закрытых сокетов")
+    void testConnectionReuse() throws Exception {
+        try (NioStubServer server = new NioStubServer(0).start()) {
+            PooledApiClient client = new PooledApiClient(URI.create("http://localhost:" + server.port() + "/auth"), 2);
+            try {
+                for (int i = 0; i < 20; i++) {
+                    PooledApiClient.Reply reply = client.sendRequest(i % 2 == 0 ? TOKEN : "short", "LOGIN");
+                    assertEquals(200, reply.statusCode());
+                    assertEquals("OK", reply.result().result());
+                }
+
+                PooledApiClient.ConnectionStats stats = client.stats();
+                assertEquals(20, stats.requests());
+                assertEquals(1, stats.opened());
+                assertEquals(0, stats.closed());
+                assertEquals(1, stats.pooled());
+                assertEquals(0.95, stats.reuseRatio(), 1e-9);
+
+                client.resetStats();
+                assertEquals(new PooledApiClient.ConnectionStats(0, 0, 0, 1), client.stats());
+            } finally {
+                client.close();
+            }
+            assertEquals(1, client.stats().closed());
+        }
+    }
+
+    private static byte[] encoded(String token, String action) {
+        return ("token=" + URLEncoder.encode(token, StandardCharsets.UTF_8)
+                + "&action=" + URLEncoder.encode(action, StandardCharsets.UTF_8))
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+}
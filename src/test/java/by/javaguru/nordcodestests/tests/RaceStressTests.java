@@ -0,0 +1,84 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.base.TestBase;
+import by.javaguru.nordcodestests.load.ActionClients;
+import by.javaguru.nordcodestests.load.RaceReport;
+import by.javaguru.nordcodestests.load.RaceStress;
+import by.javaguru.nordcodestests.utils.TokenStream;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Одновременные LOGIN / ACTION / LOGOUT с одним токеном: согласованность
+ * хранилища токенов сервиса и цена конкуренции за одну запись.
+ * <p>
+ * {@code LoginTests#testDoubleLogin} и {@code LogoutTests#testDoubleLogout} повторяют
+ * действия последовательно; здесь повторы приходят одновременно, как при ретраях
+ * клиента. Сначала выполняется прогон {@link RaceStress.Mode#SPREAD} (те же действия
+ * на разных токенах; заодно прогревает сервис), затем {@link RaceStress.Mode#SHARED}.
+ * <p>
+ * Не входит в обычный прогон; запускается профилем {@code race}:
+ * <pre>
+ * mvn test -Prace -Drace.lanes=200 -Drace.rounds=1000 -Drace.ops=8
+ * </pre>
+ * Параметры:
+ * <ul>
+ *     <li>{@code race.lanes}, {@code race.rounds}, {@code race.ops} — размер прогона, см. {@link RaceStress};</li>
+ *     <li>{@code race.max.slowdown} — во сколько раз пропускная способность {@code SHARED}
+ *     может быть ниже {@code SPREAD}; без него замедление только публикуется;</li>
+ *     <li>{@code load.client} — неблокирующий клиент {@code async} (по умолчанию) или {@code nio},
+ *     см. {@link ActionClients};</li>
+ *     <li>{@code token.seed} — seed токенов и набора действий раундов.</li>
+ * </ul>
+ * Тест падает, если хотя бы одна история не объясняется моделью хранилища
+ * или не проверено ни одной истории (все токены потеряли ответы);
+ * примеры несогласованных историй приводятся в отчёте.
+ */
+@Tag("performance")
+@Tag("race")
+public class RaceStressTests extends TestBase {
+
+    private static final String MAX_SLOWDOWN = System.getProperty("race.max.slowdown");
+    private static final ActionClients CLIENT = ActionClients.fromSystemProperty(ActionClients.ASYNC);
+
+    private static final TokenStream TOKENS = TokenStream.fromSystemProperty();
+
+    @Test
+    @Description("Одновременные LOGIN / ACTION / LOGOUT с одним токеном линеаризуемы; замедление против разных токенов")
+    void testConcurrentSameTokenActions() throws InterruptedException {
+        TOKENS.recordSeedInAllure();
+        RaceStress stress = RaceStress.fromSystemProperties(CLIENT.asyncClient());
+
+        RaceReport spread = stress.run(RaceStress.Mode.SPREAD, TOKENS);
+        publish(spread, "Race report: distinct tokens");
+        RaceReport shared = stress.run(RaceStress.Mode.SHARED, TOKENS);
+        publish(shared, "Race report: same token");
+
+        double slowdown = shared.slowdownAgainst(spread);
+        String summary = String.format(Locale.ROOT,
+                "Same-token throughput: %.1f ops/s vs %.1f ops/s on distinct tokens (x%.2f slowdown)",
+                shared.operationsPerSecond(), spread.operationsPerSecond(), slowdown);
+        System.out.println(summary);
+        Allure.parameter("same-token slowdown", String.format(Locale.ROOT, "%.2f", slowdown));
+
+        assertTrue(shared.operations() > 0, "No operations completed");
+        assertTrue(shared.histories() > 0, "No histories checked:\n" + shared.format());
+        assertEquals(0, spread.inconsistencies(), spread.format());
+        assertEquals(0, shared.inconsistencies(), shared.format());
+        if (MAX_SLOWDOWN != null) {
+            assertTrue(slowdown <= Double.parseDouble(MAX_SLOWDOWN), summary + ", limit x" + MAX_SLOWDOWN);
+        }
+    }
+
+    private static void publish(RaceReport report, String name) {
+        System.out.println(report.format());
+        report.attachToAllure(name);
+    }
+}
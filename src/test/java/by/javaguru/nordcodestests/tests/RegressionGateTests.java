@@ -0,0 +1,110 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.load.PerformanceBaseline;
+import by.javaguru.nordcodestests.load.RegressionGate;
+import by.javaguru.nordcodestests.load.SessionAction;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты {@link RegressionGate} и {@link PerformanceBaseline}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class RegressionGateTests {
+
+    private static final RegressionGate GATE = new RegressionGate(0.20, 1.0, 0.10, 0.001);
+
+    private static final PerformanceBaseline BASELINE = baseline(100,
+            Map.of(SessionAction.LOGIN, 10.0, SessionAction.ACTION, 8.0, SessionAction.LOGOUT, 2.0));
+
+    /**
+     * Проверяет, что отклонения в пределах допусков проходят проверку.
+     */
+    @Test
+    @Description("p95 выше эталона на 20% + 1 мс и пропускная способность ниже на 10% укладываются в допуски")
+    void testWithinTolerance() {
+        PerformanceBaseline current = baseline(90,
+                Map.of(SessionAction.LOGIN, 13.0, SessionAction.ACTION, 10.6, SessionAction.LOGOUT, 3.4));
+
+        RegressionGate.Result result = GATE.compare(BASELINE, current);
+
+        assertTrue(result.passed(), result.format());
+    }
+
+    /**
+     * Проверяет, что выход за допуски обнаруживается по каждому показателю.
+     */
+    @Test
+    @Description("Рост p95 LOGIN и падение пропускной способности сверх допусков — регрессия")
+    void testRegressionDetected() {
+        PerformanceBaseline current = baseline(89,
+                Map.of(SessionAction.LOGIN, 13.1, SessionAction.ACTION, 8.0));
+
+        RegressionGate.Result result = GATE.compare(BASELINE, current);
+
+        assertFalse(result.passed());
+        assertEquals(3, result.failures().size(), result.format());
+    }
+
+    /**
+     * Проверяет, что рост доли ошибок — регрессия, даже если сборка стала быстрее.
+     */
+    @Test
+    @Description("Сборка, отвечающая ERROR быстрее эталона, не проходит проверку по доле ошибок")
+    void testErrorsDetected() {
+        PerformanceBaseline current = baseline(150, 0.5,
+                Map.of(SessionAction.LOGIN, 5.0, SessionAction.ACTION, 4.0, SessionAction.LOGOUT, 1.0));
+
+        RegressionGate.Result result = GATE.compare(BASELINE, current);
+
+        assertEquals(1, result.failures().size(), result.format());
+        assertEquals("error %", result.failures().get(0).metric());
+    }
+
+    /**
+     * Проверяет, что эталон другого профиля нагрузки не сравнивается.
+     */
+    @Test
+    @Description("Эталон, снятый с другим числом пользователей, отклоняется")
+    void testProfileMismatch() {
+        PerformanceBaseline current = new PerformanceBaseline(Instant.parse("2026-01-01T12:00:00Z"),
+                "closed(users=20, duration=PT30S)", 100, 0, BASELINE.p95());
+
+        assertThrows(IllegalArgumentException.class, () -> GATE.compare(BASELINE, current));
+    }
+
+    /**
+     * Проверяет сохранение и чтение эталона.
+     */
+    @Test
+    @Description("Эталон, записанный в JSON, читается без потерь")
+    void testBaselineRoundTrip(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("nested/baseline.json");
+
+        BASELINE.write(file);
+        PerformanceBaseline read = PerformanceBaseline.read(file);
+
+        assertEquals(BASELINE, read);
+    }
+
+    private static PerformanceBaseline baseline(double sessionsPerSecond, Map<SessionAction, Double> p95) {
+        return baseline(sessionsPerSecond, 0, p95);
+    }
+
+    private static PerformanceBaseline baseline(double sessionsPerSecond, double errorRatio,
+                                                Map<SessionAction, Double> p95) {
+        return new PerformanceBaseline(Instant.parse("2026-01-01T12:00:00Z"),
+                "closed(users=10, duration=PT30S)", sessionsPerSecond, errorRatio, p95);
+    }
+}
@@ -0,0 +1,132 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.base.ApplicationLifecycle;
+import by.javaguru.nordcodestests.base.ApplicationLifecycle.Lifecycle;
+import by.javaguru.nordcodestests.base.ApplicationProcess;
+import by.javaguru.nordcodestests.base.ProcessMemory;
+import by.javaguru.nordcodestests.base.TestBase;
+import by.javaguru.nordcodestests.load.ActionClients;
+import by.javaguru.nordcodestests.load.LoadProfile;
+import by.javaguru.nordcodestests.load.LoadReport;
+import by.javaguru.nordcodestests.load.LoadRunner;
+import by.javaguru.nordcodestests.load.SoakReport;
+import by.javaguru.nordcodestests.utils.TokenStream;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Длительный прогон: сессии идут с постоянной частотой, а память
+ * тестируемого приложения замеряется по ходу нагрузки. Показывает,
+ * растёт ли хранилище токенов, в том числе от сессий без LOGOUT.
+ * <p>
+ * Не входит в обычный прогон; запускается профилем {@code soak}:
+ * <pre>
+ * mvn test -Psoak -Dsoak.duration=3600 -Dsoak.rate=200
+ * </pre>
+ * Параметры:
+ * <ul>
+ *     <li>{@code soak.rate} — новых сессий в секунду (по умолчанию 100);</li>
+ *     <li>{@code soak.users} — максимум одновременных сессий (50);</li>
+ *     <li>{@code soak.duration} — длительность в секундах (600);</li>
+ *     <li>{@code soak.sample} — период замеров памяти в секундах (15);</li>
+ *     <li>{@code soak.abandon} — доля сессий без LOGOUT (0.1);</li>
+ *     <li>{@code soak.gc} — выполнять полную сборку мусора перед каждым замером
+ *     кучи ({@code true}), чтобы замер отражал живые объекты;</li>
+ *     <li>{@code soak.max.heap.growth.kb} — допустимый рост кучи на тысячу сессий;
+ *     без него рост только публикуется в отчёте;</li>
+ *     <li>{@code load.client} — клиент, см. {@link ActionClients}; по умолчанию {@code rest-assured}.</li>
+ * </ul>
+ * Приложение перезапускается перед прогоном, чтобы начать с пустого хранилища.
+ */
+@Tag("performance")
+@Tag("soak")
+@ApplicationLifecycle(Lifecycle.PER_CLASS)
+public class SoakTests extends TestBase {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("soak.rate", "100"));
+    private static final int USERS = Integer.getInteger("soak.users", 50);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("soak.duration", 600));
+    private static final Duration SAMPLE_PERIOD = Duration.ofSeconds(Integer.getInteger("soak.sample", 15));
+    private static final double ABANDON = Double.parseDouble(System.getProperty("soak.abandon", "0.1"));
+    private static final boolean GC_FIRST = Boolean.parseBoolean(System.getProperty("soak.gc", "true"));
+    private static final String MAX_HEAP_GROWTH_KB = System.getProperty("soak.max.heap.growth.kb");
+    private static final ActionClients CLIENT = ActionClients.fromSystemProperty(ActionClients.REST_ASSURED);
+
+    private static final TokenStream TOKENS = TokenStream.fromSystemProperty();
+
+    @Test
+    @Description("Сессии с постоянной частотой, часть без LOGOUT; рост памяти приложения на тысячу сессий")
+    void testMemoryGrowthUnderSteadySessions(ApplicationProcess application) throws InterruptedException {
+        TOKENS.recordSeedInAllure();
+        LoadRunner runner = newRunner().abandoning(ABANDON);
+        long pid = application.pid();
+        long startedAt = System.nanoTime();
+
+        List<SoakReport.Sample> samples = new ArrayList<>();
+        Runnable sampler = () -> {
+            SoakReport.Sample sample = sample(pid, runner, startedAt);
+            synchronized (samples) {
+                samples.add(sample);
+            }
+            System.out.printf("Soak %ds: %d sessions, heap used %d KB, RSS %d KB%n",
+                    sample.elapsed().toSeconds(), sample.sessions(),
+                    sample.heapUsedBytes() / 1024, sample.rssBytes() / 1024);
+        };
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "soak-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LoadReport load;
+        try {
+            sampler.run();
+            scheduler.scheduleAtFixedRate(sampler, SAMPLE_PERIOD.toMillis(), SAMPLE_PERIOD.toMillis(), TimeUnit.MILLISECONDS);
+            load = runner.run(LoadProfile.open(RATE, DURATION, USERS));
+        } finally {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        sampler.run();
+
+        SoakReport report;
+        synchronized (samples) {
+            report = new SoakReport(load, List.copyOf(samples));
+        }
+        System.out.println(report.format());
+        report.attachToAllure("Soak report");
+        Allure.parameter("abandon ratio", ABANDON);
+
+        assertTrue(load.completedSessions() > 0, "No sessions completed");
+        if (MAX_HEAP_GROWTH_KB != null) {
+            double limit = Double.parseDouble(MAX_HEAP_GROWTH_KB) * 1024;
+            double growth = report.heapGrowthPerThousandSessions();
+            assertTrue(growth <= limit, String.format("Heap grows by %.1f KB per 1000 sessions, limit %s KB",
+                    growth / 1024, MAX_HEAP_GROWTH_KB));
+        }
+    }
+
+    private static SoakReport.Sample sample(long pid, LoadRunner runner, long startedAt) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        long sessions = runner.completedSessions();
+        long abandoned = runner.abandonedSessions();
+        ProcessMemory.Usage usage = ProcessMemory.sample(pid, GC_FIRST);
+        return new SoakReport.Sample(elapsed, sessions, abandoned,
+                usage.rss(), usage.heapUsed(), usage.heapCommitted());
+    }
+
+    private static LoadRunner newRunner() {
+        return CLIENT.newRunner(TOKENS.perThread());
+    }
+}
@@ -0,0 +1,114 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.utils.TokenGenerator;
+import by.javaguru.nordcodestests.utils.TokenPool;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты {@link TokenGenerator} и {@link TokenPool}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class TokenGeneratorTests {
+
+    private static final Pattern TOKEN_FORMAT = Pattern.compile("^[0-9A-F]{32}$");
+
+    private static final String HEX = "0123456789ABCDEF";
+
+    /**
+     * Критическое значение χ² для 15 степеней свободы при уровне значимости 1e-6.
+     */
+    private static final double CHI_SQUARE_15_CRITICAL = 57.4;
+
+    /**
+     * Критическое значение χ² для 480 (32 × 15) степеней свободы при уровне значимости 1e-6.
+     */
+    private static final double CHI_SQUARE_480_CRITICAL = 642.0;
+
+    /**
+     * Проверяет формат и уникальность токенов для всех стратегий генератора.
+     */
+    @Test
+    @Description("Каждая стратегия генератора выдаёт уникальные токены формата ^[0-9A-F]{32}$")
+    void testTokenFormat() {
+        for (TokenGenerator.Rng rng : TokenGenerator.Rng.values()) {
+            TokenGenerator generator = new TokenGenerator(rng);
+            Set<String> seen = new HashSet<>();
+
+            for (int i = 0; i < 10_000; i++) {
+                String token = generator.next();
+                assertTrue(TOKEN_FORMAT.matcher(token).matches(), rng + " produced invalid token: " + token);
+                assertTrue(seen.add(token), rng + " produced duplicate token: " + token);
+            }
+        }
+    }
+
+    /**
+     * Проверяет пакетную генерацию.
+     */
+    @Test
+    @Description("generateTokens(n) возвращает n уникальных токенов корректного формата")
+    void testGenerateTokens() {
+        String[] tokens = TokenGenerator.generateTokens(1_000);
+
+        assertEquals(1_000, tokens.length);
+        assertEquals(1_000, Set.of(tokens).size());
+        for (String token : tokens) {
+            assertTrue(TOKEN_FORMAT.matcher(token).matches(), "Invalid token: " + token);
+        }
+    }
+
+    /**
+     * Проверяет, что пул выдаёт каждый токен один раз и генерирует токены сверх размера.
+     */
+    @Test
+    @Description("TokenPool выдаёт уникальные токены и считает выдачу сверх размера пула")
+    void testTokenPool() {
+        TokenPool pool = new TokenPool(new TokenGenerator(TokenGenerator.Rng.PER_THREAD), 100);
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < 150; i++) {
+            assertTrue(seen.add(pool.take()));
+        }
+
+        assertEquals(50, pool.misses());
+    }
+
+    /**
+     * Проверяет равномерность распределения символов критерием χ²:
+     * отдельно для каждой из 32 позиций и суммарно по всем позициям.
+     */
+    @Test
+    @Description("Символы токена равномерно распределены по всем 16 значениям на каждой позиции (критерий χ²)")
+    void testUniformDistribution() {
+        int samples = 32_000;
+        long[][] counts = new long[TokenGenerator.TOKEN_LENGTH][HEX.length()];
+
+        for (String token : TokenGenerator.generateTokens(samples)) {
+            for (int position = 0; position < token.length(); position++) {
+                counts[position][HEX.indexOf(token.charAt(position))]++;
+            }
+        }
+
+        double expected = (double) samples / HEX.length();
+        double total = 0;
+        for (int position = 0; position < counts.length; position++) {
+            double chiSquare = 0;
+            for (long observed : counts[position]) {
+                chiSquare += (observed - expected) * (observed - expected) / expected;
+            }
+            assertTrue(chiSquare < CHI_SQUARE_15_CRITICAL,
+                    "Position " + position + " is not uniform: chi-square = " + chiSquare);
+            total += chiSquare;
+        }
+
+        assertTrue(total < CHI_SQUARE_480_CRITICAL, "Token symbols are not uniform: chi-square = " + total);
+    }
+}
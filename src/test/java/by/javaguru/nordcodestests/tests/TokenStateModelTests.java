@@ -0,0 +1,113 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.load.SessionAction;
+import by.javaguru.nordcodestests.load.TokenStateModel;
+import by.javaguru.nordcodestests.load.TokenStateModel.Operation;
+import by.javaguru.nordcodestests.load.TokenStateModel.State;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты {@link TokenStateModel}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class TokenStateModelTests {
+
+    private static final EnumSet<State> LOGGED_OUT = EnumSet.of(State.LOGGED_OUT);
+
+    /**
+     * Проверяет одновременные LOGIN: ровно один может получить OK.
+     */
+    @Test
+    @Description("Из двух одновременных LOGIN один OK и один ERROR — корректно; два OK — несогласованность")
+    void testConcurrentDoubleLogin() {
+        assertEquals(EnumSet.of(State.LOGGED_IN), TokenStateModel.linearize(LOGGED_OUT, List.of(
+                op(SessionAction.LOGIN, "ERROR", 0, 10),
+                op(SessionAction.LOGIN, "OK", 1, 9))));
+
+        assertTrue(TokenStateModel.linearize(LOGGED_OUT, List.of(
+                op(SessionAction.LOGIN, "OK", 0, 10),
+                op(SessionAction.LOGIN, "OK", 1, 9))).isEmpty());
+    }
+
+    /**
+     * Проверяет, что порядок во времени ограничивает линеаризацию.
+     */
+    @Test
+    @Description("ACTION с OK, завершившийся до начала LOGIN, не объясняется моделью; при перекрытии — объясняется")
+    void testRealTimeOrder() {
+        assertTrue(TokenStateModel.linearize(LOGGED_OUT, List.of(
+                op(SessionAction.ACTION, "OK", 0, 5),
+                op(SessionAction.LOGIN, "OK", 6, 10))).isEmpty());
+
+        assertEquals(EnumSet.of(State.LOGGED_IN), TokenStateModel.linearize(LOGGED_OUT, List.of(
+                op(SessionAction.ACTION, "OK", 0, 7),
+                op(SessionAction.LOGIN, "OK", 6, 10))));
+    }
+
+    /**
+     * Проверяет операции без ответа и неизвестное начальное состояние.
+     */
+    @Test
+    @Description("Операция без ответа могла выполниться или нет; из неизвестного состояния возможны оба исхода")
+    void testUnknownOutcomes() {
+        assertEquals(EnumSet.allOf(State.class), TokenStateModel.linearize(LOGGED_OUT, List.of(
+                op(SessionAction.LOGIN, "OK", 0, 2),
+                op(SessionAction.LOGOUT, null, 3, 4))));
+
+        assertEquals(EnumSet.of(State.LOGGED_OUT), TokenStateModel.linearize(EnumSet.allOf(State.class), List.of(
+                op(SessionAction.LOGOUT, "ERROR", 0, 2),
+                op(SessionAction.ACTION, "ERROR", 3, 4))));
+    }
+
+    /**
+     * Проверяет длинную историю полностью перекрывающихся операций.
+     */
+    @Test
+    @Description("Двенадцать перекрывающихся операций: LOGIN/LOGOUT чередуются, лишние получают ERROR")
+    void testLongHistory() {
+        List<Operation> history = List.of(
+                op(SessionAction.LOGIN, "OK", 0, 100),
+                op(SessionAction.LOGIN, "ERROR", 0, 100),
+                op(SessionAction.LOGIN, "OK", 0, 100),
+                op(SessionAction.LOGIN, "ERROR", 0, 100),
+                op(SessionAction.ACTION, "OK", 0, 100),
+                op(SessionAction.ACTION, "ERROR", 0, 100),
+                op(SessionAction.ACTION, "OK", 0, 100),
+                op(SessionAction.LOGOUT, "OK", 0, 100),
+                op(SessionAction.LOGOUT, "ERROR", 0, 100),
+                op(SessionAction.LOGOUT, "OK", 0, 100),
+                op(SessionAction.LOGOUT, "ERROR", 0, 100),
+                op(SessionAction.ACTION, "ERROR", 0, 100));
+
+        assertEquals(EnumSet.of(State.LOGGED_OUT), TokenStateModel.linearize(LOGGED_OUT, history));
+    }
+
+    /**
+     * Проверяет ограничение длины истории.
+     */
+    @Test
+    @Description("История из MAX_OPERATIONS перекрывающихся операций проверяется, более длинная отклоняется")
+    void testHistoryLimit() {
+        List<Operation> history = new ArrayList<>();
+        for (int i = 0; i < TokenStateModel.MAX_OPERATIONS; i++) {
+            history.add(op(i % 2 == 0 ? SessionAction.LOGIN : SessionAction.LOGOUT, "OK", 0, 100));
+        }
+        assertEquals(EnumSet.of(State.LOGGED_OUT), TokenStateModel.linearize(LOGGED_OUT, history));
+
+        history.add(op(SessionAction.ACTION, "ERROR", 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> TokenStateModel.linearize(LOGGED_OUT, history));
+    }
+
+    private static Operation op(SessionAction action, String result, long invokedAt, long completedAt) {
+        return new Operation(action, result, invokedAt, completedAt);
+    }
+}
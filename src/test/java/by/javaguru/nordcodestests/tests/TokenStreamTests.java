@@ -0,0 +1,93 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.utils.TokenStream;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты {@link TokenStream}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class TokenStreamTests {
+
+    private static final Pattern TOKEN_FORMAT = Pattern.compile("^[0-9A-F]{32}$");
+
+    /**
+     * Проверяет воспроизводимость: тот же seed и номер потока дают те же токены.
+     */
+    @Test
+    @Description("Одинаковый seed и номер рабочего потока дают одинаковую последовательность токенов")
+    void testSameSeedSameTokens() {
+        TokenStream first = TokenStream.seeded(42).forWorker(3);
+        TokenStream second = TokenStream.seeded(42).forWorker(3);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.next(), second.next());
+        }
+
+        assertNotEquals(TokenStream.seeded(42).next(), TokenStream.seeded(43).next());
+    }
+
+    /**
+     * Проверяет, что токены разных рабочих потоков не пересекаются.
+     */
+    @Test
+    @Description("Токены всех рабочих потоков одного прогона уникальны и соответствуют ^[0-9A-F]{32}$")
+    void testUniqueAcrossWorkers() {
+        TokenStream root = TokenStream.seeded(7);
+        Set<String> seen = new HashSet<>();
+
+        for (int worker = 0; worker < 16; worker++) {
+            TokenStream stream = worker == 0 ? root : root.forWorker(worker);
+            for (int i = 0; i < 10_000; i++) {
+                String token = stream.next();
+                assertTrue(TOKEN_FORMAT.matcher(token).matches(), "Invalid token: " + token);
+                assertTrue(seen.add(token), "Duplicate token: " + token);
+            }
+        }
+    }
+
+    /**
+     * Проверяет источник токенов, разделяемый несколькими потоками.
+     */
+    @Test
+    @Description("perThread() выдаёт уникальные токены при одновременном использовании из нескольких потоков")
+    void testPerThreadSupplier() throws Exception {
+        Supplier<String> tokens = TokenStream.seeded(1).perThread();
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < 8; worker++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        assertTrue(seen.add(tokens.get()));
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(80_000, seen.size());
+    }
+}
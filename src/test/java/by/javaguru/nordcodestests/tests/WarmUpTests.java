@@ -0,0 +1,48 @@
+package by.javaguru.nordcodestests.tests;
+
+import by.javaguru.nordcodestests.load.WarmUp;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Модульные тесты определения стабилизации в {@link WarmUp}.
+ * Не требуют запуска тестируемого приложения.
+ */
+public class WarmUpTests {
+
+    private static final WarmUp STABLE = WarmUp.untilStable(Duration.ofSeconds(2), 3, 0.10, Duration.ofSeconds(30));
+
+    /**
+     * Проверяет, что рост пропускной способности не считается стабилизацией.
+     */
+    @Test
+    @Description("Пропускная способность ещё растёт — прогрев продолжается")
+    void testGrowingThroughputIsNotStable() {
+        assertFalse(STABLE.isStable(List.of(2.0, 6.0, 10.0, 14.0)));
+    }
+
+    /**
+     * Проверяет, что разброс последних окон в пределах допуска — стабилизация.
+     */
+    @Test
+    @Description("Последние три окна в пределах 10% от среднего — пропускная способность стабильна")
+    void testFlatThroughputIsStable() {
+        assertTrue(STABLE.isStable(List.of(2.0, 9.0, 14.5, 15.0, 15.5)));
+    }
+
+    /**
+     * Проверяет, что окон меньше требуемого или нулевая пропускная способность — не стабилизация.
+     */
+    @Test
+    @Description("Недостаточно окон или нулевая пропускная способность — прогрев продолжается")
+    void testTooFewOrEmptyWindowsAreNotStable() {
+        assertFalse(STABLE.isStable(List.of(15.0, 15.0)));
+        assertFalse(STABLE.isStable(List.of(0.0, 0.0, 0.0)));
+    }
+}
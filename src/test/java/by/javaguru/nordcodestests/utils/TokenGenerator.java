@@ -1,23 +1,170 @@
 package by.javaguru.nordcodestests.utils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.Locale;
 
 /**
  * Генератор токенов фиксированной длины (32 символа),
  * использующий криптографически стойкий случайный генератор.
- * Токен состоит из HEX-символов (0–9, A–F).
+ * Токен состоит из HEX-символов (0–9, A–F) и всегда соответствует {@code ^[0-9A-F]{32}$}.
+ * <p>
+ * Каждый токен — это 16 случайных байт, закодированных в HEX через таблицу
+ * из 256 пар символов. Случайные байты и результат кодирования пишутся
+ * в переиспользуемые буферы потока, поэтому на токен выделяется только сама строка.
+ * <p>
+ * Источник случайности выбирается стратегией {@link Rng}; для статических методов —
+ * системным свойством {@code token.rng} (по умолчанию {@code per_thread}).
  */
 public class TokenGenerator {
 
-    private static final String SYMBOLS = "0123456789ABCDEF0123456789ABCDEF";
-    private static final SecureRandom RANDOM = new SecureRandom();
+    public static final int TOKEN_LENGTH = 32;
 
+    private static final int TOKEN_BYTES = TOKEN_LENGTH / 2;
+
+    /**
+     * HEX-представление каждого байта: символы байта {@code b} лежат
+     * по индексам {@code 2 * b} и {@code 2 * b + 1}.
+     */
+    private static final byte[] HEX_PAIRS = new byte[512];
+
+    static {
+        byte[] digits = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+        for (int b = 0; b < 256; b++) {
+            HEX_PAIRS[2 * b] = digits[b >>> 4];
+            HEX_PAIRS[2 * b + 1] = digits[b & 0x0F];
+        }
+    }
+
+    private static final TokenGenerator DEFAULT = new TokenGenerator(
+            Rng.valueOf(System.getProperty("token.rng", "per_thread").toUpperCase(Locale.ROOT)));
+
+    /**
+     * Стратегия доступа к {@link SecureRandom} из нескольких потоков.
+     */
+    public enum Rng {
+
+        /**
+         * Один {@link SecureRandom} на все потоки (прежнее поведение).
+         */
+        SHARED,
+
+        /**
+         * Собственный {@link SecureRandom} у каждого потока — без конкуренции.
+         */
+        PER_THREAD,
+
+        /**
+         * Фиксированный набор {@link SecureRandom}; поток выбирает элемент по своему id.
+         * Компромисс между {@link #SHARED} и {@link #PER_THREAD} при большом числе потоков.
+         */
+        STRIPED
+    }
+
+    private final Rng rng;
+    private final SecureRandom shared;
+    private final SecureRandom[] stripes;
+    private final ThreadLocal<Buffers> buffers;
+
+    public TokenGenerator(Rng rng) {
+        this.rng = rng;
+        this.shared = rng == Rng.SHARED ? new SecureRandom() : null;
+        this.stripes = rng == Rng.STRIPED ? newStripes() : null;
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(rng == Rng.PER_THREAD ? new SecureRandom() : null));
+    }
+
+    /**
+     * @return новый токен генератора по умолчанию
+     */
     public static String generateToken() {
-        StringBuilder sb = new StringBuilder(32);
-        for (int i = 0; i < 32; i++) {
-            int index = RANDOM.nextInt(SYMBOLS.length());
-            sb.append(SYMBOLS.charAt(index));
+        return DEFAULT.next();
+    }
+
+    /**
+     * @return {@code count} новых токенов генератора по умолчанию
+     */
+    public static String[] generateTokens(int count) {
+        return DEFAULT.next(count);
+    }
+
+    public Rng rng() {
+        return rng;
+    }
+
+    /**
+     * @return новый токен
+     */
+    public String next() {
+        Buffers buf = buffers.get();
+        random(buf).nextBytes(buf.random);
+        return encode(buf.random, 0, buf.hex);
+    }
+
+    /**
+     * Генерирует {@code count} токенов, запрашивая случайные байты у {@link SecureRandom}
+     * одним вызовом.
+     *
+     * @return массив из {@code count} токенов
+     */
+    public String[] next(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+
+        Buffers buf = buffers.get();
+        byte[] random = new byte[count * TOKEN_BYTES];
+        random(buf).nextBytes(random);
+
+        String[] tokens = new String[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = encode(random, i * TOKEN_BYTES, buf.hex);
+        }
+        return tokens;
+    }
+
+    /**
+     * Кодирует 16 байт, начиная с {@code offset}, в 32 HEX-символа.
+     */
+    static String encode(byte[] bytes, int offset, byte[] hex) {
+        for (int i = 0; i < TOKEN_BYTES; i++) {
+            int pair = (bytes[offset + i] & 0xFF) << 1;
+            hex[2 * i] = HEX_PAIRS[pair];
+            hex[2 * i + 1] = HEX_PAIRS[pair + 1];
+        }
+        return new String(hex, 0, TOKEN_LENGTH, StandardCharsets.ISO_8859_1);
+    }
+
+    private SecureRandom random(Buffers buf) {
+        switch (rng) {
+            case SHARED:
+                return shared;
+            case STRIPED:
+                return stripes[(int) (Thread.currentThread().getId() & (stripes.length - 1))];
+            default:
+                return buf.perThread;
+        }
+    }
+
+    private static SecureRandom[] newStripes() {
+        int size = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        SecureRandom[] stripes = new SecureRandom[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new SecureRandom();
+        }
+        return stripes;
+    }
+
+    /**
+     * Переиспользуемые буферы потока.
+     */
+    private static final class Buffers {
+
+        final SecureRandom perThread;
+        final byte[] random = new byte[TOKEN_BYTES];
+        final byte[] hex = new byte[TOKEN_LENGTH];
+
+        Buffers(SecureRandom perThread) {
+            this.perThread = perThread;
         }
-        return sb.toString();
     }
 }
@@ -0,0 +1,51 @@
+package by.javaguru.nordcodestests.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Заранее сгенерированный набор токенов.
+ * <p>
+ * Позволяет вынести генерацию токенов за пределы измеряемого окна нагрузки:
+ * {@link #take()} сводится к инкременту счётчика. Каждый токен выдаётся один раз;
+ * когда пул исчерпан, токены генерируются на лету, а {@link #misses()} растёт.
+ */
+public class TokenPool {
+
+    private final String[] tokens;
+    private final TokenGenerator fallback;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param generator генератор для заполнения пула и генерации сверх него
+     * @param size      число токенов в пуле
+     */
+    public TokenPool(TokenGenerator generator, int size) {
+        this.tokens = generator.next(size);
+        this.fallback = generator;
+    }
+
+    /**
+     * @return следующий неиспользованный токен
+     */
+    public String take() {
+        int index = next.getAndIncrement();
+        if (index >= 0 && index < tokens.length) {
+            return tokens[index];
+        }
+        misses.increment();
+        return fallback.next();
+    }
+
+    public int size() {
+        return tokens.length;
+    }
+
+    /**
+     * @return сколько токенов было сгенерировано на лету из-за исчерпания пула
+     */
+    public long misses() {
+        return misses.sum();
+    }
+}
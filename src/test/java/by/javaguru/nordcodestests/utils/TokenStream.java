@@ -0,0 +1,157 @@
+package by.javaguru.nordcodestests.utils;
+
+import io.qameta.allure.Allure;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Детерминированный поток токенов для воспроизводимых нагрузочных прогонов.
+ * <p>
+ * Все токены определяются одним 64-битным seed: прогон с тем же
+ * {@code -Dtoken.seed} и тем же числом сессий на поток использует те же токены.
+ * Для каждого рабочего потока создаётся собственный поток токенов ({@link #split()}
+ * или {@link #forWorker(int)}) со своим {@link SplittableRandom}, поэтому генерация
+ * не требует синхронизации.
+ * <p>
+ * Уникальность гарантируется построением, а не вероятностно: старшие 64 бита токена —
+ * биекция пары (номер потока, номер токена в потоке), младшие — выход {@link SplittableRandom}.
+ * Два разных токена одного прогона не совпадают никогда, поэтому одновременные
+ * сессии не конфликтуют во внутреннем хранилище сервиса.
+ * <p>
+ * Генератор не криптографический и предназначен только для тестов.
+ * Отдельный экземпляр не потокобезопасен.
+ */
+public final class TokenStream {
+
+    /**
+     * Максимум токенов в одном потоке: номер токена занимает младшие 40 бит.
+     */
+    private static final long MAX_TOKENS_PER_STREAM = 1L << 40;
+
+    /**
+     * Максимум потоков токенов: номер потока занимает старшие 24 бита.
+     */
+    private static final int MAX_STREAMS = 1 << 24;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final int streamId;
+    private final long key;
+    private final SplittableRandom random;
+    private final AtomicInteger nextStreamId;
+    private final byte[] bytes = new byte[16];
+    private final byte[] hex = new byte[TokenGenerator.TOKEN_LENGTH];
+    private long counter;
+
+    private TokenStream(long seed, int streamId, AtomicInteger nextStreamId) {
+        if (streamId < 0 || streamId >= MAX_STREAMS) {
+            throw new IllegalArgumentException("streamId must be in [0, " + MAX_STREAMS + "): " + streamId);
+        }
+        this.seed = seed;
+        this.streamId = streamId;
+        this.key = mix64(seed);
+        this.random = new SplittableRandom(mix64(seed + GOLDEN_GAMMA * (streamId + 1L)));
+        this.nextStreamId = nextStreamId;
+    }
+
+    /**
+     * Создаёт корневой поток токенов (номер 0) с заданным seed.
+     */
+    public static TokenStream seeded(long seed) {
+        return new TokenStream(seed, 0, new AtomicInteger(1));
+    }
+
+    /**
+     * Создаёт корневой поток с seed из системного свойства {@code token.seed}
+     * или со случайным seed, если свойство не задано. Seed печатается в консоль,
+     * чтобы прогон можно было повторить.
+     */
+    public static TokenStream fromSystemProperty() {
+        Long configured = Long.getLong("token.seed");
+        long seed = configured != null ? configured : new SecureRandom().nextLong();
+        System.out.println("Token seed: " + seed + " (replay with -Dtoken.seed=" + seed + ")");
+        return seeded(seed);
+    }
+
+    /**
+     * Возвращает поток токенов для рабочего потока с номером {@code worker}.
+     * Результат зависит только от seed и номера, но не от порядка вызовов.
+     * <p>
+     * Номера назначает вызывающий код; не смешивайте этот метод с {@link #split()}
+     * на одном корневом потоке — номера могут совпасть.
+     *
+     * @param worker номер рабочего потока, начиная с 1 (0 — корневой поток)
+     */
+    public TokenStream forWorker(int worker) {
+        return new TokenStream(seed, worker, nextStreamId);
+    }
+
+    /**
+     * Возвращает поток токенов со следующим свободным номером.
+     * Потокобезопасен; детерминирован, если порядок вызовов детерминирован.
+     */
+    public TokenStream split() {
+        return forWorker(nextStreamId.getAndIncrement());
+    }
+
+    /**
+     * Возвращает потокобезопасный источник токенов: каждый вызывающий поток
+     * при первом обращении получает собственный {@link #split()}.
+     */
+    public Supplier<String> perThread() {
+        ThreadLocal<TokenStream> streams = ThreadLocal.withInitial(this::split);
+        return () -> streams.get().next();
+    }
+
+    /**
+     * @return следующий токен формата {@code ^[0-9A-F]{32}$}
+     */
+    public String next() {
+        if (counter >= MAX_TOKENS_PER_STREAM) {
+            throw new IllegalStateException("Token stream " + streamId + " is exhausted");
+        }
+
+        long high = mix64(((long) streamId << 40 | counter++) ^ key);
+        long low = random.nextLong();
+
+        writeLong(high, 0);
+        writeLong(low, 8);
+        return TokenGenerator.encode(bytes, 0, hex);
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public int streamId() {
+        return streamId;
+    }
+
+    /**
+     * Добавляет seed к текущему тесту в Allure как параметр,
+     * не влияющий на историю теста.
+     */
+    public void recordSeedInAllure() {
+        Allure.parameter("token.seed", Long.toString(seed), true);
+    }
+
+    private void writeLong(long value, int offset) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    /**
+     * Финализатор MurmurHash3 (вариант 13 Стаффорда) — биекция на 64-битных значениях.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
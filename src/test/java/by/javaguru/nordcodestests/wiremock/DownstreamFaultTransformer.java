@@ -0,0 +1,64 @@
+package by.javaguru.nordcodestests.wiremock;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Расширение WireMock, разыгрывающее отказ внешнего сервиса для каждого запроса.
+ * <p>
+ * Применяется только к мокам, явно подключившим его через
+ * {@link DownstreamProfile}: с вероятностью {@code resetRate} соединение
+ * разрывается, с вероятностью {@code errorRate} возвращается {@code errorStatus},
+ * иначе мок отвечает как обычно. Задержки исходного ответа сохраняются.
+ */
+class DownstreamFaultTransformer implements ResponseDefinitionTransformerV2 {
+
+    static final String NAME = "downstream-faults";
+    static final String ERROR_RATE = "errorRate";
+    static final String ERROR_STATUS = "errorStatus";
+    static final String RESET_RATE = "resetRate";
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        ResponseDefinition response = serveEvent.getResponseDefinition();
+        Parameters parameters = serveEvent.getTransformerParameters();
+
+        double resetRate = rate(parameters, RESET_RATE);
+        double errorRate = rate(parameters, ERROR_RATE);
+        double roll = ThreadLocalRandom.current().nextDouble();
+
+        if (roll < resetRate) {
+            return ResponseDefinitionBuilder.like(response)
+                    .withFault(Fault.CONNECTION_RESET_BY_PEER)
+                    .build();
+        }
+        if (roll < resetRate + errorRate) {
+            return ResponseDefinitionBuilder.like(response)
+                    .withStatus(parameters.getInt(ERROR_STATUS))
+                    .withBody("")
+                    .build();
+        }
+        return response;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    private static double rate(Parameters parameters, String name) {
+        Object value = parameters.get(name);
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+}
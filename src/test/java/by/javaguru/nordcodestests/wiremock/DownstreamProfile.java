@@ -0,0 +1,195 @@
+package by.javaguru.nordcodestests.wiremock;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.http.DelayDistribution;
+import com.github.tomakehurst.wiremock.http.LogNormal;
+import com.github.tomakehurst.wiremock.http.UniformDistribution;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Поведение внешнего сервиса ({@code /auth} или {@code /doAction}):
+ * латентность, медленная отдача тела и доля отказов.
+ * <p>
+ * Профиль неизменяем: каждый метод {@code with...} возвращает новый профиль.
+ * Применяется через {@link MockServer#applyProfile(MockServer.Downstream, DownstreamProfile)}.
+ *
+ * <pre>{@code
+ * MockServer.applyProfile(Downstream.AUTH, DownstreamProfile.healthy()
+ *         .withLogNormalLatency(Duration.ofMillis(80), 0.4)
+ *         .withErrorRate(0.05, 503)
+ *         .withResetRate(0.01));
+ * }</pre>
+ *
+ * Доли ошибок и разрывов соединения разыгрываются для каждого запроса
+ * расширением {@link DownstreamFaultTransformer}; задержка применяется
+ * и к успешным, и к ошибочным ответам.
+ */
+public final class DownstreamProfile {
+
+    /**
+     * Задержка «зависшего» сервиса (см. {@link #hanging()}). Заведомо больше
+     * любого разумного таймаута тестируемого приложения.
+     */
+    public static final Duration HANG = Duration.ofSeconds(60);
+
+    private static final String OK_BODY = "{\"result\":\"OK\"}";
+
+    private final Integer fixedDelayMs;
+    private final DelayDistribution delayDistribution;
+    private final String latency;
+    private final int dribbleChunks;
+    private final int dribbleMs;
+    private final double errorRate;
+    private final int errorStatus;
+    private final double resetRate;
+
+    private DownstreamProfile(Integer fixedDelayMs, DelayDistribution delayDistribution, String latency,
+                              int dribbleChunks, int dribbleMs,
+                              double errorRate, int errorStatus, double resetRate) {
+        if (errorRate < 0 || resetRate < 0 || errorRate + resetRate > 1) {
+            throw new IllegalArgumentException("Error and reset rates must be within [0, 1] in total: "
+                    + errorRate + " + " + resetRate);
+        }
+        this.fixedDelayMs = fixedDelayMs;
+        this.delayDistribution = delayDistribution;
+        this.latency = latency;
+        this.dribbleChunks = dribbleChunks;
+        this.dribbleMs = dribbleMs;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.resetRate = resetRate;
+    }
+
+    /**
+     * Сервис без задержек и отказов — поведение стандартных моков.
+     */
+    public static DownstreamProfile healthy() {
+        return new DownstreamProfile(null, null, null, 0, 0, 0, 500, 0);
+    }
+
+    /**
+     * Сервис, который принимает запрос и не отвечает в течение {@link #HANG}.
+     * <p>
+     * WireMock отдаёт задержанные ответы асинхронно: пока тестируемое приложение
+     * ждёт ответа, поток Jetty не занят, а когда приложение отключается по таймауту,
+     * тест сразу продолжается — ожидать {@link #HANG} целиком не нужно.
+     */
+    public static DownstreamProfile hanging() {
+        return new DownstreamProfile(toMillis(HANG), null, "hanging " + HANG.toSeconds() + " s",
+                0, 0, 0, 500, 0);
+    }
+
+    /**
+     * Постоянная задержка перед ответом.
+     */
+    public DownstreamProfile withFixedLatency(Duration delay) {
+        return new DownstreamProfile(toMillis(delay), null, "fixed " + delay.toMillis() + " ms",
+                dribbleChunks, dribbleMs, errorRate, errorStatus, resetRate);
+    }
+
+    /**
+     * Логнормальная задержка: длинный «хвост» медленных ответов, типичный для реальных сервисов.
+     *
+     * @param median медиана задержки
+     * @param sigma  стандартное отклонение логарифма задержки; чем больше, тем длиннее хвост
+     */
+    public DownstreamProfile withLogNormalLatency(Duration median, double sigma) {
+        return new DownstreamProfile(null, new LogNormal(median.toMillis(), sigma),
+                "log-normal median " + median.toMillis() + " ms, sigma " + sigma,
+                dribbleChunks, dribbleMs, errorRate, errorStatus, resetRate);
+    }
+
+    /**
+     * Задержка, равномерно распределённая в {@code [min, max]}.
+     */
+    public DownstreamProfile withUniformLatency(Duration min, Duration max) {
+        return new DownstreamProfile(null, new UniformDistribution(toMillis(min), toMillis(max)),
+                "uniform " + min.toMillis() + ".." + max.toMillis() + " ms",
+                dribbleChunks, dribbleMs, errorRate, errorStatus, resetRate);
+    }
+
+    /**
+     * Тело ответа отдаётся {@code chunks} частями, равномерно растянутыми на {@code total}.
+     */
+    public DownstreamProfile withDribble(int chunks, Duration total) {
+        if (chunks <= 0) {
+            throw new IllegalArgumentException("chunks must be positive: " + chunks);
+        }
+        return new DownstreamProfile(fixedDelayMs, delayDistribution, latency, chunks, toMillis(total),
+                errorRate, errorStatus, resetRate);
+    }
+
+    /**
+     * Доля запросов, на которые сервис отвечает кодом {@code status}.
+     *
+     * @param ratio доля в диапазоне {@code [0, 1]}
+     */
+    public DownstreamProfile withErrorRate(double ratio, int status) {
+        return new DownstreamProfile(fixedDelayMs, delayDistribution, latency, dribbleChunks, dribbleMs,
+                ratio, status, resetRate);
+    }
+
+    /**
+     * Доля запросов, на которые сервис разрывает соединение (TCP RST).
+     *
+     * @param ratio доля в диапазоне {@code [0, 1]}
+     */
+    public DownstreamProfile withResetRate(double ratio) {
+        return new DownstreamProfile(fixedDelayMs, delayDistribution, latency, dribbleChunks, dribbleMs,
+                errorRate, errorStatus, ratio);
+    }
+
+    /**
+     * Строит ответ WireMock для этого профиля.
+     */
+    ResponseDefinitionBuilder toResponse() {
+        ResponseDefinitionBuilder response = WireMock.aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(OK_BODY);
+
+        if (fixedDelayMs != null) {
+            response.withFixedDelay(fixedDelayMs);
+        }
+        if (delayDistribution != null) {
+            response.withRandomDelay(delayDistribution);
+        }
+        if (dribbleChunks > 0) {
+            response.withChunkedDribbleDelay(dribbleChunks, dribbleMs);
+        }
+        if (errorRate > 0 || resetRate > 0) {
+            response.withTransformers(DownstreamFaultTransformer.NAME)
+                    .withTransformerParameter(DownstreamFaultTransformer.ERROR_RATE, errorRate)
+                    .withTransformerParameter(DownstreamFaultTransformer.ERROR_STATUS, errorStatus)
+                    .withTransformerParameter(DownstreamFaultTransformer.RESET_RATE, resetRate);
+        }
+        return response;
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        if (latency != null) {
+            parts.add(latency);
+        }
+        if (dribbleChunks > 0) {
+            parts.add("dribble " + dribbleChunks + " chunks in " + dribbleMs + " ms");
+        }
+        if (errorRate > 0) {
+            parts.add(String.format(Locale.ROOT, "%.1f%% HTTP %d", errorRate * 100, errorStatus));
+        }
+        if (resetRate > 0) {
+            parts.add(String.format(Locale.ROOT, "%.1f%% connection reset", resetRate * 100));
+        }
+        return parts.isEmpty() ? "healthy" : String.join(", ", parts);
+    }
+
+    private static int toMillis(Duration duration) {
+        return Math.toIntExact(duration.toMillis());
+    }
+}
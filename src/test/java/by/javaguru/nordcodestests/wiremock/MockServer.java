@@ -1,69 +1,357 @@
 package by.javaguru.nordcodestests.wiremock;
 
+import by.javaguru.nordcodestests.base.TestEnvironment;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
 import com.github.tomakehurst.wiremock.client.WireMock;
-import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
+import com.github.tomakehurst.wiremock.common.Timing;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 /**
- * Утилитный класс для запуска и остановки локального WireMock-сервера,
+ * Утилитный класс для запуска локального WireMock-сервера,
  * а также регистрации стандартных моков, используемых в тестах.
  * <p>
- * Сервер поднимается на порту {@code 8888} и мокаeт два эндпойнта:
+ * Сервер поднимается на порту {@link TestEnvironment#mockPort()}
+ * (по умолчанию {@code 8888}) и мокаeт два эндпойнта:
  * <ul>
  *     <li><b>POST /auth</b> — отвечает {@code {"result": "OK"}}</li>
  *     <li><b>POST /doAction</b> — отвечает {@code {"result": "OK"}}</li>
  * </ul>
  * <p>
- * Сервер создаётся лениво (lazy init): если он уже существует и запущен —
- * повторный запуск не выполняется.
+ * Сервер запускается один раз на JVM и останавливается при её завершении;
+ * стандартные моки регистрируются один раз при старте с пониженным
+ * приоритетом {@link #DEFAULT_STUB_PRIORITY}.
+ * <p>
+ * Моки конкретного теста регистрируются через {@link #stubFor(MappingBuilder)}
+ * внутри области {@link #beginScope()} / {@link #endScope()}: по окончании
+ * теста удаляются только они, а стандартные моки и моки других тестов
+ * остаются нетронутыми. Журнал запросов по окончании теста очищается:
+ * сервер живёт всю JVM, и без очистки журнал рос бы весь прогон, а
+ * {@link #firstRequestAt} и {@link #journal()} видели бы запросы прошлых
+ * тестов. Поэтому тесты одной JVM выполняются по одному, параллельно —
+ * только в разных форках (профиль {@code parallel}). Чтобы мок не
+ * перехватывал чужие запросы, его стоит сузить до токена теста через
+ * {@link #forToken(String)}.
+ * Латентность и отказы внешних сервисов задаются через
+ * {@link #applyProfile(Downstream, DownstreamProfile)}. Задержанные ответы
+ * в любом режиме отдаются асинхронно и не занимают потоки Jetty.
+ *
+ * <pre>{@code
+ * MockServer.stubFor(post("/auth")
+ *         .withRequestBody(MockServer.forToken(token))
+ *         .willReturn(aResponse().withStatus(401)));
+ * }</pre>
+ *
+ * Режим работы задаётся системными свойствами:
+ * <ul>
+ *     <li>{@code mock.profile} — {@code standard} (по умолчанию) или
+ *     {@code performance}: пул Jetty на {@code mock.threads} потоков
+ *     (по умолчанию 200), журнал запросов ограничен {@code mock.journal}
+ *     записями (по умолчанию 10 000, {@code 0} — журнал отключён),
+ *     без подробного логирования и gzip;</li>
+ *     <li>{@code mock.backend} — {@code wiremock} (по умолчанию) или
+ *     {@code nio}: вместо WireMock поднимается {@link NioStubServer},
+ *     отвечающий только стандартными моками. Регистрация моков тестов
+ *     в этом режиме недоступна.</li>
+ * </ul>
  */
 public class MockServer {
-    private static WireMockServer wireMockServer;
 
-    public static void start() {
+    public enum Profile {
+        STANDARD,
+        PERFORMANCE
+    }
 
-        if (wireMockServer == null) {
-            wireMockServer = new WireMockServer(
-                    WireMockConfiguration.options()
-                            .port(8888)
-                            .notifier(new Slf4jNotifier(true))
-            );
+    public enum Backend {
+        WIREMOCK,
+        NIO
+    }
+
+    /**
+     * Внешние сервисы, к которым обращается тестируемое приложение.
+     */
+    public enum Downstream {
+        AUTH("/auth"),
+        DO_ACTION("/doAction");
+
+        private final String path;
+
+        Downstream(String path) {
+            this.path = path;
         }
 
-        if (!wireMockServer.isRunning()) {
-            wireMockServer.start();
-            WireMock.configureFor("localhost", 8888);
+        public String path() {
+            return path;
         }
+    }
+
+    /**
+     * Запрос приложения к внешнему сервису из журнала WireMock.
+     *
+     * @param path       путь запроса, например {@code /auth}
+     * @param body       тело запроса
+     * @param receivedAt момент получения запроса
+     * @param serveTime  время обработки запроса WireMock с учётом заданной задержки;
+     *                   {@code null}, если ответ ещё не отправлен
+     */
+    public record DownstreamCall(String path, String body, Instant receivedAt, Duration serveTime) {
+    }
+
+    public static final Profile PROFILE = Profile.valueOf(
+            System.getProperty("mock.profile", "standard").toUpperCase(Locale.ROOT));
+
+    public static final Backend BACKEND = Backend.valueOf(
+            System.getProperty("mock.backend", "wiremock").toUpperCase(Locale.ROOT));
+
+    private static final int PERFORMANCE_THREADS = Integer.getInteger("mock.threads", 200);
 
+    private static final int PERFORMANCE_JOURNAL = Integer.getInteger("mock.journal", 10_000);
+
+    /**
+     * Приоритет стандартных моков. Моки тестов регистрируются с приоритетом
+     * WireMock по умолчанию ({@code 5}) и всегда имеют преимущество.
+     */
+    static final int DEFAULT_STUB_PRIORITY = 10;
+
+    private static WireMockServer wireMockServer;
+
+    private static NioStubServer nioServer;
+
+    /**
+     * Моки, зарегистрированные текущим тестом. Область привязана к потоку,
+     * в котором выполняется тест.
+     */
+    private static final ThreadLocal<List<StubMapping>> SCOPE = new ThreadLocal<>();
+
+    private MockServer() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Запускает мок-сервер ({@link #BACKEND}), если он ещё не запущен в этой JVM.
+     */
+    public static synchronized void start() {
+        if (BACKEND == Backend.NIO) {
+            startNio();
+            return;
+        }
+        if (wireMockServer != null && wireMockServer.isRunning()) {
+            return;
+        }
+
+        wireMockServer = new WireMockServer(configuration());
+        wireMockServer.start();
+        WireMock.configureFor(TestEnvironment.HOST, TestEnvironment.mockPort());
         setupStubs();
+
+        WireMockServer server = wireMockServer;
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "wiremock-shutdown"));
     }
 
-    public static void stop() {
+    /**
+     * Останавливает мок-сервер. При обычном прогоне вызывать не требуется:
+     * сервер останавливается вместе с JVM.
+     */
+    public static synchronized void stop() {
         if (wireMockServer != null && wireMockServer.isRunning()) {
             wireMockServer.stop();
         }
+        if (nioServer != null) {
+            nioServer.close();
+            nioServer = null;
+        }
+    }
+
+    /**
+     * Открывает область моков для теста, выполняемого в текущем потоке.
+     */
+    public static void beginScope() {
+        SCOPE.set(new ArrayList<>());
+    }
+
+    /**
+     * Удаляет моки, зарегистрированные в текущей области, очищает журнал
+     * запросов и закрывает область.
+     */
+    public static void endScope() {
+        List<StubMapping> stubs = SCOPE.get();
+        SCOPE.remove();
+        if (stubs == null || wireMockServer == null) {
+            return;
+        }
+        for (StubMapping stub : stubs) {
+            wireMockServer.removeStubMapping(stub);
+        }
+        wireMockServer.resetRequests();
+    }
+
+    /**
+     * Регистрирует мок в области текущего теста.
+     *
+     * @param mapping описание мока
+     * @return зарегистрированный мок
+     * @throws IllegalStateException если область не открыта через {@link #beginScope()}
+     */
+    public static StubMapping stubFor(MappingBuilder mapping) {
+        List<StubMapping> stubs = SCOPE.get();
+        if (stubs == null) {
+            throw new IllegalStateException("Stub scope is not open: call MockServer.beginScope() first");
+        }
+        if (BACKEND != Backend.WIREMOCK) {
+            throw new UnsupportedOperationException("Test stubs require mock.backend=wiremock, current: " + BACKEND);
+        }
+        StubMapping stub = wireMockServer.stubFor(mapping);
+        stubs.add(stub);
+        return stub;
+    }
+
+    /**
+     * Заменяет поведение внешнего сервиса на время текущего теста.
+     *
+     * @param downstream внешний сервис
+     * @param profile    латентность и отказы сервиса
+     * @return зарегистрированный мок
+     */
+    public static StubMapping applyProfile(Downstream downstream, DownstreamProfile profile) {
+        return stubFor(WireMock.post(WireMock.urlEqualTo(downstream.path()))
+                .willReturn(profile.toResponse()));
+    }
+
+    /**
+     * Заменяет поведение внешнего сервиса на время текущего теста
+     * только для запросов с токеном {@code token}.
+     */
+    public static StubMapping applyProfile(Downstream downstream, DownstreamProfile profile, String token) {
+        return stubFor(WireMock.post(WireMock.urlEqualTo(downstream.path()))
+                .withRequestBody(forToken(token))
+                .willReturn(profile.toResponse()));
+    }
+
+    /**
+     * Момент, когда приложение впервые обратилось к внешнему сервису с токеном
+     * {@code token}, по журналу запросов WireMock.
+     *
+     * @return время получения запроса или {@link Optional#empty()}, если запроса
+     * не было или журнал отключён
+     */
+    public static Optional<Instant> firstRequestAt(Downstream downstream, String token) {
+        if (wireMockServer == null || BACKEND != Backend.WIREMOCK) {
+            return Optional.empty();
+        }
+        return wireMockServer.findAll(WireMock.postRequestedFor(WireMock.urlEqualTo(downstream.path()))
+                        .withRequestBody(forToken(token)))
+                .stream()
+                .map(request -> request.getLoggedDate().toInstant())
+                .min(Comparator.naturalOrder());
+    }
+
+    /**
+     * Все запросы к внешним сервисам из журнала WireMock.
+     *
+     * @return запросы в порядке получения; пустой список, если журнал
+     * отключён или используется {@link Backend#NIO}
+     */
+    public static List<DownstreamCall> journal() {
+        return journal(Instant.MIN);
+    }
+
+    /**
+     * Запросы к внешним сервисам из журнала WireMock, полученные не раньше
+     * {@code since}, например с начала первого запроса теста. Более ранние
+     * записи отбрасываются до разбора тела.
+     *
+     * @return запросы в порядке получения; пустой список, если журнал
+     * отключён или используется {@link Backend#NIO}
+     */
+    public static List<DownstreamCall> journal(Instant since) {
+        if (wireMockServer == null || BACKEND != Backend.WIREMOCK || wireMockServer.getOptions().requestJournalDisabled()) {
+            return List.of();
+        }
+        return wireMockServer.getAllServeEvents().stream()
+                .filter(event -> !event.getRequest().getLoggedDate().toInstant().isBefore(since))
+                .map(event -> new DownstreamCall(
+                        event.getRequest().getUrl(),
+                        event.getRequest().getBodyAsString(),
+                        event.getRequest().getLoggedDate().toInstant(),
+                        serveTime(event)))
+                .sorted(Comparator.comparing(DownstreamCall::receivedAt))
+                .toList();
+    }
+
+    /**
+     * Условие на тело запроса приложения к внешнему сервису,
+     * сужающее мок до одного токена.
+     *
+     * @param token токен теста
+     */
+    public static StringValuePattern forToken(String token) {
+        return WireMock.containing("token=" + token);
+    }
+
+    private static Duration serveTime(ServeEvent event) {
+        Timing timing = event.getTiming();
+        return timing == null || timing.getTotalTime() == null ? null : Duration.ofMillis(timing.getTotalTime());
+    }
+
+    private static WireMockConfiguration configuration() {
+        WireMockConfiguration options = WireMockConfiguration.options()
+                .port(TestEnvironment.mockPort())
+                .extensions(new DownstreamFaultTransformer())
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(Runtime.getRuntime().availableProcessors() * 2);
+
+        if (PROFILE == Profile.STANDARD) {
+            return options.notifier(new Slf4jNotifier(true));
+        }
+
+        options.notifier(new Slf4jNotifier(false))
+                .stubRequestLoggingDisabled(true)
+                .gzipDisabled(true)
+                .containerThreads(PERFORMANCE_THREADS);
+
+        if (PERFORMANCE_JOURNAL > 0) {
+            options.maxRequestJournalEntries(PERFORMANCE_JOURNAL);
+        } else {
+            options.disableRequestJournal();
+        }
+        return options;
+    }
+
+    private static void startNio() {
+        if (nioServer != null && nioServer.isRunning()) {
+            return;
+        }
+        try {
+            nioServer = new NioStubServer(TestEnvironment.mockPort()).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start NIO stub server on port " + TestEnvironment.mockPort(), e);
+        }
+
+        NioStubServer server = nioServer;
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "nio-stub-shutdown"));
     }
 
     private static void setupStubs() {
-        WireMock.stubFor(
-                WireMock.post(WireMock.urlEqualTo("/auth"))
-                        .willReturn(
-                                WireMock.aResponse()
-                                        .withStatus(200)
-                                        .withHeader("Content-Type", "application/json")
-                                        .withBody("{\"result\":\"OK\"}")
-                        )
-        );
-
-        WireMock.stubFor(
-                WireMock.post(WireMock.urlEqualTo("/doAction"))
-                        .willReturn(
-                                WireMock.aResponse()
-                                        .withStatus(200)
-                                        .withHeader("Content-Type", "application/json")
-                                        .withBody("{\"result\":\"OK\"}")
-                        )
-        );
+        for (Downstream downstream : Downstream.values()) {
+            wireMockServer.stubFor(
+                    WireMock.post(WireMock.urlEqualTo(downstream.path()))
+                            .atPriority(DEFAULT_STUB_PRIORITY)
+                            .willReturn(DownstreamProfile.healthy().toResponse())
+            );
+        }
     }
 }
@@ -0,0 +1,331 @@
+package by.javaguru.nordcodestests.wiremock;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Минимальный HTTP/1.1-ответчик на NIO для стандартных моков
+ * {@code POST /auth} и {@code POST /doAction}.
+ * <p>
+ * Весь ввод-вывод выполняется одним потоком-селектором: запрос разбирается
+ * только до строки запроса и заголовка {@code Content-Length}, тело
+ * пропускается, а ответ {@code {"result":"OK"}} отдаётся из заранее
+ * сформированного буфера без копирования. Поддерживаются keep-alive и
+ * конвейерные (pipelined) запросы. На любой другой путь возвращается
+ * {@code 404}; на запрос с некорректным {@code Content-Length} или с
+ * {@code Transfer-Encoding} (chunked-тела не разбираются) — {@code 400},
+ * после чего соединение закрывается.
+ * <p>
+ * Используется вместо WireMock, когда мок не должен становиться узким местом
+ * нагрузочного прогона (см. {@link MockServer}): журнала запросов, сопоставления
+ * моков и пула потоков здесь нет.
+ */
+public class NioStubServer implements AutoCloseable {
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_HEADER_SIZE = 64 * 1024;
+
+    private static final ByteBuffer OK = response("200 OK", "{\"result\":\"OK\"}");
+    private static final ByteBuffer NOT_FOUND = response("404 Not Found", "");
+    private static final ByteBuffer BAD_REQUEST = response("400 Bad Request", "");
+
+    private final int requestedPort;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread loop;
+    private volatile boolean running;
+
+    /**
+     * @param port порт для прослушивания; {@code 0} — свободный порт
+     */
+    public NioStubServer(int port) {
+        this.requestedPort = port;
+    }
+
+    /**
+     * Открывает порт и запускает поток-селектор.
+     *
+     * @return этот же сервер
+     * @throws IOException если порт недоступен
+     */
+    public synchronized NioStubServer start() throws IOException {
+        if (running) {
+            return this;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(requestedPort), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        loop = new Thread(this::run, "nio-stub-" + port());
+        loop.setDaemon(true);
+        loop.start();
+        return this;
+    }
+
+    /**
+     * @return фактический порт сервера
+     */
+    public int port() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            Connection connection = (Connection) key.attachment();
+                            if (key.isReadable()) {
+                                connection.read(key);
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                connection.flush(key);
+                            }
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        // Ошибка одного соединения не должна останавливать селектор
+                        closeQuietly(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("NIO stub server stopped: " + e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static ByteBuffer response(String status, String body) {
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        String head = "HTTP/1.1 " + status + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + bodyBytes.length + "\r\n"
+                + "\r\n";
+        byte[] headBytes = head.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(headBytes.length + bodyBytes.length);
+        buffer.put(headBytes).put(bodyBytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Состояние одного клиентского соединения.
+     */
+    private static final class Connection {
+
+        private final SocketChannel channel;
+        private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final Deque<ByteBuffer> out = new ArrayDeque<>();
+        private boolean closeAfterFlush;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void read(SelectionKey key) throws IOException {
+            if (!in.hasRemaining()) {
+                if (in.capacity() >= MAX_HEADER_SIZE) {
+                    throw new IOException("Request header too large");
+                }
+                ByteBuffer larger = ByteBuffer.allocate(in.capacity() * 2);
+                in.flip();
+                larger.put(in);
+                in = larger;
+            }
+
+            int read = channel.read(in);
+            if (read < 0) {
+                closeAfterFlush = true;
+            } else {
+                parseRequests();
+            }
+            flush(key);
+        }
+
+        /**
+         * Разбирает все полностью полученные запросы из буфера
+         * и ставит ответы на них в очередь.
+         */
+        private void parseRequests() {
+            byte[] data = in.array();
+            int limit = in.position();
+            int start = 0;
+
+            while (!closeAfterFlush) {
+                int headerEnd = indexOfHeaderEnd(data, start, limit);
+                if (headerEnd < 0) {
+                    break;
+                }
+                Request request = Request.parse(data, start, headerEnd);
+                if (request.contentLength < 0) {
+                    // Без длины тела граница следующего запроса неизвестна
+                    out.add(BAD_REQUEST.duplicate());
+                    closeAfterFlush = true;
+                    start = limit;
+                    break;
+                }
+                int end = headerEnd + 4 + request.contentLength;
+                if (end > limit) {
+                    break;
+                }
+                out.add(request.isStub() ? OK.duplicate() : NOT_FOUND.duplicate());
+                closeAfterFlush = request.close;
+                start = end;
+            }
+
+            in.flip();
+            in.position(start);
+            in.compact();
+        }
+
+        void flush(SelectionKey key) throws IOException {
+            while (!out.isEmpty()) {
+                ByteBuffer head = out.peekFirst();
+                channel.write(head);
+                if (head.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                out.removeFirst();
+            }
+            if (closeAfterFlush) {
+                closeQuietly(key);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private static int indexOfHeaderEnd(byte[] data, int from, int limit) {
+            for (int i = from; i + 3 < limit; i++) {
+                if (data[i] == '\r' && data[i + 1] == '\n' && data[i + 2] == '\r' && data[i + 3] == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Разобранные из заголовка запроса поля, нужные для ответа.
+     *
+     * @param contentLength длина тела; {@code -1}, если заголовок некорректен или тело
+     *                      передаётся с {@code Transfer-Encoding}
+     */
+    private record Request(String method, String path, int contentLength, boolean close) {
+
+        static Request parse(byte[] data, int from, int headerEnd) {
+            String head = new String(data, from, headerEnd - from, StandardCharsets.US_ASCII);
+            String[] lines = head.split("\r\n");
+            String[] requestLine = lines[0].split(" ");
+
+            int contentLength = 0;
+            boolean chunked = false;
+            boolean close = requestLine.length > 2 && "HTTP/1.0".equals(requestLine[2]);
+            for (int i = 1; i < lines.length; i++) {
+                String line = lines[i];
+                int colon = line.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String name = line.substring(0, colon).trim();
+                String value = line.substring(colon + 1).trim();
+                if (name.equalsIgnoreCase("Transfer-Encoding")) {
+                    chunked = true;
+                } else if (name.equalsIgnoreCase("Content-Length")) {
+                    contentLength = parseContentLength(value);
+                } else if (name.equalsIgnoreCase("Connection")) {
+                    close = value.equalsIgnoreCase("close");
+                }
+            }
+
+            String path = requestLine.length > 1 ? requestLine[1] : "";
+            int query = path.indexOf('?');
+            if (query >= 0) {
+                path = path.substring(0, query);
+            }
+            return new Request(requestLine[0], path, chunked ? -1 : contentLength, close);
+        }
+
+        /**
+         * @return длина тела или {@code -1}, если значение не число, отрицательно или больше int
+         */
+        private static int parseContentLength(String value) {
+            if (value.isEmpty() || value.length() > 10) {
+                return -1;
+            }
+            long length = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                length = length * 10 + (c - '0');
+            }
+            return length > Integer.MAX_VALUE ? -1 : (int) length;
+        }
+
+        boolean isStub() {
+            return "POST".equals(method) && ("/auth".equals(path) || "/doAction".equals(path));
+        }
+    }
+}